@@ -0,0 +1,154 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingPhase;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.dto.UserShortDto;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Детерминированные данные для бенчмарков: сущности и DTO в памяти и наполнение пустой схемы через JDBC.
+ */
+final class BenchmarkData {
+    static final String[] WORDS = {"drill", "saw", "hammer", "ladder", "tent", "bike", "kayak", "projector",
+            "camera", "mixer", "cordless", "electric", "folding", "portable", "large", "compact"};
+    static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    static List<Item> items(final int count) {
+        Random random = new Random(42);
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User owner = User.builder().id((long) i % 100 + 1).name("owner" + i % 100).email("owner" + i % 100 + "@mail.ru").build();
+            items.add(Item.builder()
+                    .id((long) i + 1)
+                    .owner(owner)
+                    .name(name(random))
+                    .description(description(random))
+                    .available(true)
+                    .request(i % 5 == 0 ? ItemRequest.builder().requestId((long) i).build() : null)
+                    .build());
+        }
+        return items;
+    }
+
+    static List<Booking> bookings(final int count) {
+        List<Item> items = items(Math.max(1, count / 10));
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            bookings.add(Booking.builder()
+                    .bookingId((long) i + 1)
+                    .start(NOW.plusDays(i))
+                    .end(NOW.plusDays(i + 1))
+                    .status(BookingStatus.APPROVED)
+                    .item(items.get(i % items.size()))
+                    .booker(User.builder().id((long) i + 1000).name("booker" + i).email("booker" + i + "@mail.ru").build())
+                    .build());
+        }
+        return bookings;
+    }
+
+    static List<ItemRequest> requests(final int count) {
+        List<ItemRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(ItemRequest.builder()
+                    .requestId((long) i + 1)
+                    .description("need a " + WORDS[i % WORDS.length] + " for the weekend")
+                    .build());
+        }
+        return requests;
+    }
+
+    static List<ItemDto> itemPage(final int size) {
+        Random random = new Random(42);
+        List<ItemDto> page = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            page.add(new ItemDto((long) i + 1, name(random), description(random), true, 1L, "owner", null));
+        }
+        return page;
+    }
+
+    static List<BookingDto> bookingPage(final int size) {
+        List<BookingDto> page = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            page.add(BookingDto.builder()
+                    .id((long) i + 1)
+                    .start(NOW.plusDays(i))
+                    .end(NOW.plusDays(i + 1))
+                    .status(BookingStatus.WAITING)
+                    .item(new ItemShortDto((long) i + 1, "item" + i))
+                    .booker(new UserShortDto((long) i + 2, "booker" + i))
+                    .build());
+        }
+        return page;
+    }
+
+    /**
+     * Заполняет пустую схему: users пользователей, items вещей (по кругу между владельцами,
+     * у владельца 1 — каждая users-я вещь) и bookingsPerItem бронирований на вещь, половина в прошлом.
+     * Id проставляются явно, последовательности не двигаются — после наполнения данные только читаются.
+     */
+    static void seed(final JdbcTemplate jdbc, final int users, final int items, final int bookingsPerItem) {
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(users);
+        for (long id = 1; id <= users; id++) {
+            rows.add(new Object[]{id, "user" + id, "user" + id + "@mail.ru"});
+        }
+        jdbc.batchUpdate("insert into users (user_id, name, email) values (?, ?, ?)", rows);
+
+        rows = new ArrayList<>(items);
+        for (long id = 1; id <= items; id++) {
+            rows.add(new Object[]{id, name(random), description(random), id % 10 != 0, (id - 1) % users + 1});
+        }
+        jdbc.batchUpdate("insert into items (item_id, name, description, available, user_id) values (?, ?, ?, ?, ?)", rows);
+
+        rows = new ArrayList<>(items * bookingsPerItem);
+        long bookingId = 1;
+        LocalDateTime now = LocalDateTime.now();
+        for (long itemId = 1; itemId <= items; itemId++) {
+            for (int i = 0; i < bookingsPerItem; i++) {
+                LocalDateTime start = now.plusDays(2L * (i - bookingsPerItem / 2));
+                long booker = (itemId + i) % users + 1;
+                rows.add(new Object[]{bookingId++, Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1)),
+                        BookingStatus.APPROVED.name(), itemId, booker, (itemId - 1) % users + 1,
+                        BookingPhase.of(start, start.plusDays(1), now).name()});
+            }
+            if (rows.size() >= 10_000) {
+                insertBookings(jdbc, rows);
+                rows.clear();
+            }
+        }
+        insertBookings(jdbc, rows);
+    }
+
+    private static void insertBookings(final JdbcTemplate jdbc, final List<Object[]> rows) {
+        jdbc.batchUpdate("insert into bookings (booking_id, start_time, end_time, status, item_id, booker_id, owner_id, phase) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private static String name(final Random random) {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String description(final Random random) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            description.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return description.append("in good condition").toString();
+    }
+}
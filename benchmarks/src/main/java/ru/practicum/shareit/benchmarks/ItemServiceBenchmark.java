@@ -0,0 +1,101 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.UserIdRegistry;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сервис вещей целиком: контекст сервера без веб-слоя на встроенной H2 с миграциями Flyway,
+ * наполненной {@link BenchmarkData#seed}. Объём задаётся параметрами, например -p items=100000.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+    private static final long OWNER_ID = 1L;
+
+    @Param({"10000"})
+    private int items;
+
+    @Param({"1000"})
+    private int users;
+
+    @Param({"2", "20"})
+    private int bookingsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                // аргументами командной строки, чтобы перекрыть настройки Postgres из application.properties
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driverClassName=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        BenchmarkData.seed(context.getBean(JdbcTemplate.class), users, items, bookingsPerItem);
+        // индекс поиска и реестр id собираются при старте, до наполнения базы
+        context.getBean(ItemSearchIndex.class).rebuild();
+        context.getBean(UserIdRegistry.class).rebuild();
+        itemService = context.getBean(ItemService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> search(final Query query) {
+        return itemService.search(query.text, 0, 20);
+    }
+
+    @Benchmark
+    public List<ItemDto> ownerItems() {
+        return itemService.getAll(OWNER_ID, 0, 10);
+    }
+
+    @Benchmark
+    public ItemDto ownerItem() {
+        return itemService.get(OWNER_ID, OWNER_ID);
+    }
+
+    // строки поиска отдельным состоянием, чтобы не умножать прогоны остальных бенчмарков
+    @State(Scope.Benchmark)
+    public static class Query {
+        @Param({"drill", "cordless saw"})
+        private String text;
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразование страницы сущностей в DTO ответов.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"10", "1000"})
+    private int size;
+
+    private final ItemMapper itemMapper = new ItemMapper();
+    private final BookingMapper bookingMapper = new BookingMapper();
+    private final ItemRequestMapper requestMapper = new ItemRequestMapper();
+
+    private List<Item> items;
+    private List<Booking> bookings;
+    private List<ItemRequest> requests;
+
+    @Setup
+    public void setUp() {
+        items = BenchmarkData.items(size);
+        bookings = BenchmarkData.bookings(size);
+        requests = BenchmarkData.requests(size);
+    }
+
+    @Benchmark
+    public void itemToDto(final Blackhole blackhole) {
+        for (Item item : items) {
+            blackhole.consume(itemMapper.toItemDto(item));
+        }
+    }
+
+    @Benchmark
+    public void bookingToDto(final Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(bookingMapper.toBookingDto(booking));
+        }
+    }
+
+    @Benchmark
+    public void bookingToItemBookingDto(final Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(bookingMapper.toItemBookingDto(booking));
+        }
+    }
+
+    @Benchmark
+    public void requestToDto(final Blackhole blackhole) {
+        for (ItemRequest request : requests) {
+            blackhole.consume(requestMapper.toItemRequestDto(request));
+        }
+    }
+}
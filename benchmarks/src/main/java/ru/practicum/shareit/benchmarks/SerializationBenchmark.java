@@ -0,0 +1,65 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация страниц ответов тем же набором модулей, что и в сервере (JavaTimeModule, без timestamps),
+ * с Blackbird и без него.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"10", "100"})
+    private int pageSize;
+
+    @Param({"true", "false"})
+    private boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private List<ItemDto> items;
+    private List<BookingDto> bookings;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        items = BenchmarkData.itemPage(pageSize);
+        bookings = BenchmarkData.bookingPage(pageSize);
+    }
+
+    @Benchmark
+    public byte[] itemPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] bookingPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+}
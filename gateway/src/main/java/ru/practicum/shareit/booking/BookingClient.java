@@ -2,28 +2,36 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCacheInterceptor;
+import ru.practicum.shareit.client.SingleFlightInterceptor;
 
+import java.util.HashMap;
 import java.util.Map;
 
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory serverRequestFactory, ResponseCacheInterceptor responseCacheInterceptor,
+                         SingleFlightInterceptor singleFlightInterceptor) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(() -> serverRequestFactory)
+                        .additionalInterceptors(responseCacheInterceptor, singleFlightInterceptor)
                         .build()
         );
     }
@@ -37,26 +45,36 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
-    public ResponseEntity<Object> getAllForBooker(Long userId, final BookingState state, final Integer from, final Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> getAllForBooker(Long userId, final BookingState state, final Integer from, final Integer size,
+                                                 final String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        if (cursor == null) {
+            return get("?state={state}&from={from}&size={size}", userId, parameters);
+        }
+        parameters.put("cursor", cursor);
+        return get("?state={state}&size={size}&cursor={cursor}", userId, parameters);
     }
 
     public ResponseEntity<Object> getBooking(final Long userId, final Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getAllForOwner(final Long ownerId, final BookingState state, final Integer from, final Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> getAllForOwner(final Long ownerId, final BookingState state, final Integer from, final Integer size,
+                                                 final String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
+        ));
+        if (cursor == null) {
+            return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
+        }
+        parameters.put("cursor", cursor);
+        return get("/owner?state={state}&size={size}&cursor={cursor}", ownerId, parameters);
     }
 
 
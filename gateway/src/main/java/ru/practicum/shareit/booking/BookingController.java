@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -14,6 +15,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Controller
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
@@ -47,22 +49,24 @@ public class BookingController {
     public ResponseEntity<Object> getAllForBooker(@RequestHeader("X-Sharer-User-Id") final Long userId,
                                               @RequestParam(name = "state", defaultValue = "all") final String stateParam,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") final Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                              @RequestParam(required = false) final String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getAllForBooker(userId, state, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+        return bookingClient.getAllForBooker(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getAllForOwner(@RequestParam(name = "state", defaultValue = "ALL") final String stateParam,
                                            @RequestHeader("X-Sharer-User-Id") final Long ownerId,
                                            @RequestParam(defaultValue = "0") @PositiveOrZero final int from,
-                                           @RequestParam(defaultValue = "10") @Positive final int size) {
+                                           @RequestParam(defaultValue = "10") @Positive final int size,
+                                           @RequestParam(required = false) final String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, ownerId={}, from={}, size={}", stateParam, ownerId, from, size);
-        return bookingClient.getAllForOwner(ownerId, state, from, size);
+        log.info("Get booking with state {}, ownerId={}, from={}, size={}, cursor={}", stateParam, ownerId, from, size, cursor);
+        return bookingClient.getAllForOwner(ownerId, state, from, size, cursor);
     }
 
 }
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ResponseCacheFilter;
+import ru.practicum.shareit.client.SingleFlightFilter;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Service
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ReactorClientHttpConnector serverClientConnector, ResponseCacheFilter responseCacheFilter,
+                                 SingleFlightFilter singleFlightFilter) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverClientConnector)
+                        .filter(responseCacheFilter)
+                        .filter(singleFlightFilter)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> addBooking(final Long userId, final BookItemRequestDto requestDto) {
+        return post("", userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> approveBooking(final Long userId, final Long bookingId, final Boolean approved) {
+        Map<String, Object> parameters = Map.of("approved", approved);
+        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+    }
+
+    public Mono<ResponseEntity<Object>> getBooking(final Long userId, final Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllForBooker(final Long userId, final BookingState state, final Integer from,
+                                                        final Integer size, final String cursor) {
+        return getAll("", userId, state, from, size, cursor);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllForOwner(final Long ownerId, final BookingState state, final Integer from,
+                                                       final Integer size, final String cursor) {
+        return getAll("/owner", ownerId, state, from, size, cursor);
+    }
+
+    private Mono<ResponseEntity<Object>> getAll(final String path, final Long userId, final BookingState state,
+                                                final Integer from, final Integer size, final String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        ));
+        if (cursor == null) {
+            return get(path + "?state={state}&from={from}&size={size}", userId, parameters);
+        }
+        parameters.put("cursor", cursor);
+        return get(path + "?state={state}&size={size}&cursor={cursor}", userId, parameters);
+    }
+}
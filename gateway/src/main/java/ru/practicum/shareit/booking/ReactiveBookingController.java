@@ -0,0 +1,70 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RestController
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveBookingController {
+    private final ReactiveBookingClient bookingClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> addBooking(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                   @RequestBody @Valid final BookItemRequestDto requestDto) {
+        log.info("Creating booking {}, userId={}", requestDto, userId);
+        return bookingClient.addBooking(userId, requestDto);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> approveBooking(@RequestHeader("X-Sharer-User-Id") final Long id,
+                                                       @PathVariable final Long bookingId,
+                                                       @RequestParam final Boolean approved) {
+        return bookingClient.approveBooking(id, bookingId, approved);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> getBookingById(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                       @PathVariable final Long bookingId) {
+        log.info("Get booking {}, userId={}", bookingId, userId);
+        return bookingClient.getBooking(userId, bookingId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllForBooker(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                        @RequestParam(name = "state", defaultValue = "all") final String stateParam,
+                                                        @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") final Integer from,
+                                                        @Positive @RequestParam(name = "size", defaultValue = "10") final Integer size,
+                                                        @RequestParam(required = false) final String cursor) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+        return bookingClient.getAllForBooker(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Object>> getAllForOwner(@RequestParam(name = "state", defaultValue = "ALL") final String stateParam,
+                                                       @RequestHeader("X-Sharer-User-Id") final Long ownerId,
+                                                       @RequestParam(defaultValue = "0") @PositiveOrZero final int from,
+                                                       @RequestParam(defaultValue = "10") @Positive final int size,
+                                                       @RequestParam(required = false) final String cursor) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Get booking with state {}, ownerId={}, from={}, size={}, cursor={}", stateParam, ownerId, from, size, cursor);
+        return bookingClient.getAllForOwner(ownerId, state, from, size, cursor);
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Set;
+
+/**
+ * Ответ сервера для клиента gateway без разбора тела: статус, заголовки и байты как есть.
+ */
+final class PassThroughResponses {
+    // относятся к соединению с сервером, а не к самому ответу; длину выставляем по фактическому телу
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "te", "trailer", "upgrade",
+            "proxy-authenticate", "proxy-authorization", "content-length"
+    );
+
+    private PassThroughResponses() {
+    }
+
+    static ResponseEntity<Object> of(int status, @Nullable HttpHeaders serverHeaders, @Nullable byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                    headers.addAll(name, values);
+                }
+            });
+        }
+        if (body == null || body.length == 0) {
+            return ResponseEntity.status(status).headers(headers).build();
+        }
+        headers.setContentLength(body.length);
+        return ResponseEntity.status(status).headers(headers).body(body);
+    }
+}
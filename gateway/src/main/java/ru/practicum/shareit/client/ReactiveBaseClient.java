@@ -0,0 +1,93 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Неблокирующий аналог {@link BaseClient} для reactive-режима gateway:
+ * те же пути, заголовки и обработка ответов сервера, но без занятого потока на время запроса.
+ */
+public class ReactiveBaseClient {
+    protected final WebClient webClient;
+
+    public ReactiveBaseClient(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
+        return patch(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path) {
+        return delete(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                               @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> defaultHeaders(headers, userId));
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+        return spec.exchangeToMono(ReactiveBaseClient::prepareGatewayResponse);
+    }
+
+    private static void defaultHeaders(HttpHeaders headers, Long userId) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+    }
+
+    // как и в BaseClient: тело ответа сервера, в том числе ошибки, уходит клиенту байтами без разбора
+    private static Mono<ResponseEntity<Object>> prepareGatewayResponse(ClientResponse response) {
+        return response.bodyToMono(byte[].class)
+                .map(body -> PassThroughResponses.of(response.rawStatusCode(), response.headers().asHttpHeaders(), body))
+                .defaultIfEmpty(PassThroughResponses.of(response.rawStatusCode(), response.headers().asHttpHeaders(), null));
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Reactive-режим gateway (spring.main.web-application-type=reactive): WebFlux на Reactor Netty
+ * и WebClient с неблокирующим пулом соединений к серверу. Лимиты берутся из тех же shareit-server.http.*.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(ServerHttpClientProperties.class)
+public class ReactiveServerClientConfig {
+
+    // Tomcat тоже есть в classpath, а автоконфигурация предпочитает его Netty
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(@Value("${server.port:8080}") final int port) {
+        return new NettyReactiveWebServerFactory(port);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider serverConnectionProvider(final ServerHttpClientProperties properties) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getKeepAlive())
+                .evictInBackground(properties.getEvictIdleAfter())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ReactorClientHttpConnector serverClientConnector(final ConnectionProvider serverConnectionProvider,
+                                                            final ServerHttpClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(serverConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout())
+                .keepAlive(true);
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
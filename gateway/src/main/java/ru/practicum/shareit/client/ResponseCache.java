@@ -0,0 +1,168 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+
+import java.net.URI;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Кэш ответов сервера на редко меняющиеся GET-запросы. Записи сбрасываются целыми областями
+ * при успешной записи через этот же gateway; устаревшие по ttl записи перепроверяются по ETag.
+ */
+public class ResponseCache {
+    public static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private static final Pattern ITEM = Pattern.compile("/items/\\d+");
+
+    private final Cache<Key, Entry> cache;
+    private final long ttlNanos;
+    private final boolean enabled;
+    // поколение области растёт при каждой записи: ответ, запрошенный до неё, уже не сохраняем
+    private final Map<Region, AtomicLong> generations = new EnumMap<>(Region.class);
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder modified = new LongAdder();
+
+    public ResponseCache(final ResponseCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl().plus(properties.getRevalidateFor()))
+                .recordStats()
+                .build();
+        for (Region region : Region.values()) {
+            generations.put(region, new AtomicLong());
+        }
+    }
+
+    /**
+     * Ключ для кэшируемого запроса или null, если ответ на запрос не кэшируется.
+     */
+    @Nullable
+    public Key keyFor(final HttpMethod method, final URI uri, @Nullable final String userId) {
+        if (!enabled || method != HttpMethod.GET) {
+            return null;
+        }
+        String path = uri.getRawPath();
+        String pathAndQuery = uri.getRawQuery() == null ? path : path + "?" + uri.getRawQuery();
+        // владелец вещи видит в ней бронирования, а в /requests/all не попадают свои запросы
+        if (ITEM.matcher(path).matches()) {
+            return new Key(Region.ITEMS, pathAndQuery, userId);
+        }
+        if (path.equals("/items/search")) {
+            return new Key(Region.ITEMS, pathAndQuery, null);
+        }
+        if (path.equals("/requests/all")) {
+            return new Key(Region.REQUESTS, pathAndQuery, userId);
+        }
+        return null;
+    }
+
+    public long generation(final Key key) {
+        return generations.get(key.getRegion()).get();
+    }
+
+    @Nullable
+    public Entry get(final Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    public boolean isFresh(final Entry entry) {
+        return System.nanoTime() - entry.getStoredAt() < ttlNanos;
+    }
+
+    /**
+     * Сохраняет ответ, если с момента {@code generation} в области не было записей.
+     * {@code previous} - устаревшая запись, которую перепроверяли и сервер прислал новое тело.
+     */
+    public Entry put(final Key key, final long generation, @Nullable final Entry previous,
+                     final HttpHeaders headers, final byte[] body) {
+        Entry entry = new Entry(HttpHeaders.readOnlyHttpHeaders(headers), body, headers.getETag(), System.nanoTime());
+        if (previous != null) {
+            modified.increment();
+        }
+        // без ttl и без ETag запись бесполезна
+        if ((ttlNanos > 0 || entry.getEtag() != null) && generation(key) == generation) {
+            cache.put(key, entry);
+        }
+        return entry;
+    }
+
+    // сервер ответил 304: тело не изменилось, продлеваем запись
+    public Entry revalidated(final Key key, final Entry entry) {
+        notModified.increment();
+        Entry refreshed = new Entry(entry.getHeaders(), entry.getBody(), entry.getEtag(), System.nanoTime());
+        cache.put(key, refreshed);
+        return refreshed;
+    }
+
+    /**
+     * Сбрасывает области, на которые могла повлиять успешная запись по этому пути.
+     */
+    public void invalidateAfterWrite(final String path) {
+        for (Region region : Region.values()) {
+            if (region.isAffectedBy(path)) {
+                generations.get(region).incrementAndGet();
+                cache.asMap().keySet().removeIf(key -> key.getRegion() == region);
+            }
+        }
+    }
+
+    Cache<Key, Entry> getCache() {
+        return cache;
+    }
+
+    long getNotModifiedCount() {
+        return notModified.sum();
+    }
+
+    long getModifiedCount() {
+        return modified.sum();
+    }
+
+    enum Region {
+        // в вещи есть владелец, бронирования и комментарии
+        ITEMS("/items", "/bookings", "/users"),
+        // в запросе есть список вещей, созданных в ответ на него
+        REQUESTS("/requests", "/items", "/users");
+
+        private final String[] writePrefixes;
+
+        Region(final String... writePrefixes) {
+            this.writePrefixes = writePrefixes;
+        }
+
+        boolean isAffectedBy(final String path) {
+            for (String prefix : writePrefixes) {
+                if (path.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Value
+    public static class Key {
+        Region region;
+        String pathAndQuery;
+        String userId;
+    }
+
+    @Value
+    public static class Entry {
+        HttpHeaders headers;
+        byte[] body;
+        String etag;
+        long storedAt;
+    }
+}
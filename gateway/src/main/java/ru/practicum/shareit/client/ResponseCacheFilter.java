@@ -0,0 +1,62 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ResponseCache} для WebClient-клиентов reactive-режима gateway.
+ */
+public class ResponseCacheFilter implements ExchangeFilterFunction {
+    private final ResponseCache cache;
+
+    public ResponseCacheFilter(final ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(final ClientRequest request, final ExchangeFunction next) {
+        ResponseCache.Key key = cache.keyFor(request.method(), request.url(),
+                request.headers().getFirst(ResponseCache.USER_HEADER));
+        if (key == null) {
+            return next.exchange(request).doOnNext(response -> {
+                if (request.method() != HttpMethod.GET && response.statusCode().is2xxSuccessful()) {
+                    cache.invalidateAfterWrite(request.url().getRawPath());
+                }
+            });
+        }
+
+        ResponseCache.Entry cached = cache.get(key);
+        if (cached != null && cache.isFresh(cached)) {
+            return Mono.just(toResponse(cached));
+        }
+        ClientRequest conditional = cached != null && cached.getEtag() != null
+                ? ClientRequest.from(request).headers(headers -> headers.setIfNoneMatch(cached.getEtag())).build()
+                : request;
+        long generation = cache.generation(key);
+        return next.exchange(conditional).flatMap(response -> {
+            if (cached != null && response.rawStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
+                return response.releaseBody().then(Mono.fromSupplier(() -> toResponse(cache.revalidated(key, cached))));
+            }
+            if (response.rawStatusCode() != HttpStatus.OK.value()) {
+                return Mono.just(response);
+            }
+            return response.bodyToMono(byte[].class)
+                    .defaultIfEmpty(new byte[0])
+                    .map(body -> toResponse(cache.put(key, generation, cached, response.headers().asHttpHeaders(), body)));
+        });
+    }
+
+    private static ClientResponse toResponse(final ResponseCache.Entry entry) {
+        return ClientResponse.create(HttpStatus.OK)
+                .headers(headers -> headers.addAll(entry.getHeaders()))
+                .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(entry.getBody())))
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * {@link ResponseCache} для RestTemplate-клиентов gateway.
+ */
+public class ResponseCacheInterceptor implements ClientHttpRequestInterceptor {
+    private final ResponseCache cache;
+
+    public ResponseCacheInterceptor(final ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        ResponseCache.Key key = cache.keyFor(request.getMethod(), request.getURI(),
+                request.getHeaders().getFirst(ResponseCache.USER_HEADER));
+        if (key == null) {
+            ClientHttpResponse response = execution.execute(request, body);
+            if (request.getMethod() != HttpMethod.GET && response.getStatusCode().is2xxSuccessful()) {
+                cache.invalidateAfterWrite(request.getURI().getRawPath());
+            }
+            return response;
+        }
+
+        ResponseCache.Entry cached = cache.get(key);
+        if (cached != null && cache.isFresh(cached)) {
+            return new CachedResponse(cached);
+        }
+        if (cached != null && cached.getEtag() != null) {
+            request.getHeaders().setIfNoneMatch(cached.getEtag());
+        }
+        long generation = cache.generation(key);
+        ClientHttpResponse response = execution.execute(request, body);
+        if (cached != null && response.getRawStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
+            response.close();
+            return new CachedResponse(cache.revalidated(key, cached));
+        }
+        if (response.getRawStatusCode() != HttpStatus.OK.value()) {
+            return response;
+        }
+        try (response) {
+            byte[] bytes = StreamUtils.copyToByteArray(response.getBody());
+            return new CachedResponse(cache.put(key, generation, cached, response.getHeaders(), bytes));
+        }
+    }
+
+    private static class CachedResponse implements ClientHttpResponse {
+        private final ResponseCache.Entry entry;
+
+        CachedResponse(final ResponseCache.Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return HttpStatus.OK.value();
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return entry.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(entry.getBody());
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки кэша GET-ответов сервера в gateway.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit-server.cache")
+public class ResponseCacheProperties {
+    private boolean enabled = true;
+
+    private long maxSize = 10_000;
+
+    // сколько ответ отдаётся без обращения к серверу
+    private Duration ttl = Duration.ofSeconds(5);
+
+    // сколько устаревший ответ с ETag ещё хранится для условного запроса If-None-Match
+    private Duration revalidateFor = Duration.ofMinutes(5);
+}
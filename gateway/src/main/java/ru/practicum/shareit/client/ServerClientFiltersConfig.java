@@ -0,0 +1,79 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Кэш ответов и объединение одинаковых запросов - общие для servlet- и reactive-клиентов gateway.
+ */
+@Configuration
+@EnableConfigurationProperties({ResponseCacheProperties.class, SingleFlightProperties.class})
+public class ServerClientFiltersConfig {
+    private static final String CACHE_NAME = "shareit-server-responses";
+
+    @Bean
+    public ResponseCache responseCache(final ResponseCacheProperties properties) {
+        return new ResponseCache(properties);
+    }
+
+    @Bean
+    public ResponseCacheInterceptor responseCacheInterceptor(final ResponseCache responseCache) {
+        return new ResponseCacheInterceptor(responseCache);
+    }
+
+    @Bean
+    public ResponseCacheFilter responseCacheFilter(final ResponseCache responseCache) {
+        return new ResponseCacheFilter(responseCache);
+    }
+
+    @Bean
+    public SingleFlight singleFlight(final SingleFlightProperties properties) {
+        return new SingleFlight(properties);
+    }
+
+    @Bean
+    public SingleFlightInterceptor singleFlightInterceptor(final SingleFlight singleFlight) {
+        return new SingleFlightInterceptor(singleFlight);
+    }
+
+    @Bean
+    public SingleFlightFilter singleFlightFilter(final SingleFlight singleFlight) {
+        return new SingleFlightFilter(singleFlight);
+    }
+
+    // cache.gets{result=hit|miss}, cache.evictions, cache.size + cache.revalidations{result=not_modified|modified}
+    @Bean
+    public MeterBinder responseCacheMetrics(final ResponseCache responseCache) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, responseCache.getCache(), CACHE_NAME);
+            FunctionCounter.builder("cache.revalidations", responseCache, ResponseCache::getNotModifiedCount)
+                    .tag("cache", CACHE_NAME)
+                    .tag("result", "not_modified")
+                    .register(registry);
+            FunctionCounter.builder("cache.revalidations", responseCache, ResponseCache::getModifiedCount)
+                    .tag("cache", CACHE_NAME)
+                    .tag("result", "modified")
+                    .register(registry);
+        };
+    }
+
+    // shareit.single.flight.calls{role=leader} - ушли на сервер, {role=follower} - получили чужой ответ
+    @Bean
+    public MeterBinder singleFlightMetrics(final SingleFlight singleFlight) {
+        return registry -> {
+            FunctionCounter.builder("shareit.single.flight.calls", singleFlight, SingleFlight::getLeaderCount)
+                    .tag("role", "leader")
+                    .register(registry);
+            FunctionCounter.builder("shareit.single.flight.calls", singleFlight, SingleFlight::getFollowerCount)
+                    .tag("role", "follower")
+                    .register(registry);
+            Gauge.builder("shareit.single.flight.collapse.ratio", singleFlight, SingleFlight::getCollapseRatio)
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Один пул keep-alive соединений к серверу на все RestTemplate-клиенты gateway.
+ * В reactive-режиме клиенты ходят через WebClient на Reactor Netty, и пул Apache не создаётся.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(ServerHttpClientProperties.class)
+public class ServerHttpClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager serverConnectionManager(final ServerHttpClientProperties properties) {
+        return connectionManager(properties);
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient serverHttpClient(final PoolingHttpClientConnectionManager serverConnectionManager,
+                                                final ServerHttpClientProperties properties) {
+        return httpClient(serverConnectionManager, properties);
+    }
+
+    @Bean
+    public ClientHttpRequestFactory serverRequestFactory(final CloseableHttpClient serverHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+    }
+
+    // leased / available / pending / max: httpcomponents.httpclient.pool.* с тегом httpclient=shareit-server
+    @Bean
+    public MeterBinder serverConnectionPoolMetrics(final PoolingHttpClientConnectionManager serverConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(serverConnectionManager, POOL_NAME);
+    }
+
+    public static PoolingHttpClientConnectionManager connectionManager(final ServerHttpClientProperties properties) {
+        PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager();
+        manager.setMaxTotal(properties.getMaxConnections());
+        manager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+        manager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+        return manager;
+    }
+
+    public static CloseableHttpClient httpClient(final PoolingHttpClientConnectionManager manager,
+                                                 final ServerHttpClientProperties properties) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                .build();
+        long defaultKeepAlive = properties.getKeepAlive().toMillis();
+        ConnectionKeepAliveStrategy keepAlive = (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? serverKeepAlive : defaultKeepAlive;
+        };
+        return HttpClients.custom()
+                .setConnectionManager(manager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAlive)
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getEvictIdleAfter().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки общего пула соединений gateway -> server.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class ServerHttpClientProperties {
+    // все клиенты ходят на один хост, поэтому по умолчанию маршрут может занять весь пул
+    private int maxConnections = 200;
+
+    private int maxConnectionsPerRoute = 200;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    // сколько поток ждёт свободное соединение из пула
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    // используется, если сервер не прислал заголовок Keep-Alive
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    private Duration evictIdleAfter = Duration.ofSeconds(60);
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.client;
+
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Правила объединения одновременных одинаковых GET-запросов: один запрос уходит на сервер,
+ * остальные получают копию его ответа.
+ */
+public class SingleFlight {
+    private final boolean enabled;
+    private final List<String> paths;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+
+    public SingleFlight(final SingleFlightProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.paths = List.copyOf(properties.getPaths());
+    }
+
+    /**
+     * Ключ запроса или null, если запрос не объединяется.
+     */
+    @Nullable
+    public Key keyFor(final HttpMethod method, final URI uri, final HttpHeaders headers) {
+        if (!enabled || method != HttpMethod.GET) {
+            return null;
+        }
+        String path = uri.getRawPath();
+        if (paths.stream().noneMatch(pattern -> matcher.match(pattern, path))) {
+            return null;
+        }
+        // условный запрос кэша может получить 304, поэтому If-None-Match тоже часть ключа
+        return new Key(uri.toString(), headers.getFirst(ResponseCache.USER_HEADER),
+                headers.getFirst(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    void leader() {
+        leaders.increment();
+    }
+
+    void follower() {
+        followers.increment();
+    }
+
+    long getLeaderCount() {
+        return leaders.sum();
+    }
+
+    long getFollowerCount() {
+        return followers.sum();
+    }
+
+    // доля запросов, не дошедших до сервера
+    double getCollapseRatio() {
+        long followerCount = followers.sum();
+        long total = leaders.sum() + followerCount;
+        return total == 0 ? 0 : (double) followerCount / total;
+    }
+
+    @Value
+    public static class Key {
+        String uri;
+        String userId;
+        String ifNoneMatch;
+    }
+
+    /**
+     * Ответ сервера, прочитанный целиком, чтобы раздать его всем ожидающим.
+     */
+    @Value
+    public static class Response {
+        int status;
+        HttpHeaders headers;
+        byte[] body;
+    }
+}
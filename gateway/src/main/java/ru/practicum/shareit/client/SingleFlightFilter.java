@@ -0,0 +1,66 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link SingleFlight} для WebClient-клиентов reactive-режима gateway.
+ */
+public class SingleFlightFilter implements ExchangeFilterFunction {
+    private final SingleFlight singleFlight;
+    private final ConcurrentMap<SingleFlight.Key, Mono<SingleFlight.Response>> inFlight = new ConcurrentHashMap<>();
+
+    public SingleFlightFilter(final SingleFlight singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(final ClientRequest request, final ExchangeFunction next) {
+        SingleFlight.Key key = singleFlight.keyFor(request.method(), request.url(), request.headers());
+        if (key == null) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            AtomicReference<Mono<SingleFlight.Response>> self = new AtomicReference<>();
+            Mono<SingleFlight.Response> call = Mono.defer(() -> next.exchange(request))
+                    .flatMap(SingleFlightFilter::read)
+                    // пришедшие после ответа идут на сервер сами, а не получают уже отданный результат
+                    .doFinally(signal -> inFlight.remove(key, self.get()))
+                    .cache();
+            self.set(call);
+            Mono<SingleFlight.Response> existing = inFlight.putIfAbsent(key, call);
+            if (existing != null) {
+                singleFlight.follower();
+                return existing;
+            }
+            singleFlight.leader();
+            return call;
+        }).map(SingleFlightFilter::toResponse);
+    }
+
+    private static Mono<SingleFlight.Response> read(final ClientResponse response) {
+        HttpHeaders headers = HttpHeaders.readOnlyHttpHeaders(response.headers().asHttpHeaders());
+        return response.bodyToMono(byte[].class)
+                .defaultIfEmpty(new byte[0])
+                .map(body -> new SingleFlight.Response(response.rawStatusCode(), headers, body));
+    }
+
+    private static ClientResponse toResponse(final SingleFlight.Response response) {
+        return ClientResponse.create(HttpStatus.OK)
+                .rawStatusCode(response.getStatus())
+                .headers(headers -> headers.addAll(response.getHeaders()))
+                .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(response.getBody())))
+                .build();
+    }
+}
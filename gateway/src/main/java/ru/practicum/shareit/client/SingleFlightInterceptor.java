@@ -0,0 +1,119 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.UnknownHttpStatusCodeException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * {@link SingleFlight} для RestTemplate-клиентов gateway.
+ */
+public class SingleFlightInterceptor implements ClientHttpRequestInterceptor {
+    private final SingleFlight singleFlight;
+    private final ConcurrentMap<SingleFlight.Key, CompletableFuture<SingleFlight.Response>> inFlight =
+            new ConcurrentHashMap<>();
+
+    public SingleFlightInterceptor(final SingleFlight singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        SingleFlight.Key key = singleFlight.keyFor(request.getMethod(), request.getURI(), request.getHeaders());
+        if (key == null) {
+            return execution.execute(request, body);
+        }
+        CompletableFuture<SingleFlight.Response> call = new CompletableFuture<>();
+        CompletableFuture<SingleFlight.Response> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            singleFlight.follower();
+            return new SharedResponse(await(existing));
+        }
+
+        singleFlight.leader();
+        try (ClientHttpResponse response = execution.execute(request, body)) {
+            SingleFlight.Response shared = new SingleFlight.Response(response.getRawStatusCode(),
+                    HttpHeaders.readOnlyHttpHeaders(response.getHeaders()),
+                    StreamUtils.copyToByteArray(response.getBody()));
+            // пришедшие после ответа идут на сервер сами, а не получают уже отданный результат
+            inFlight.remove(key, call);
+            call.complete(shared);
+            return new SharedResponse(shared);
+        } catch (IOException | RuntimeException e) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static SingleFlight.Response await(final CompletableFuture<SingleFlight.Response> call) throws IOException {
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a shared server response", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static class SharedResponse implements ClientHttpResponse {
+        private final SingleFlight.Response response;
+
+        SharedResponse(final SingleFlight.Response response) {
+            this.response = response;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            HttpStatus status = HttpStatus.resolve(response.getStatus());
+            if (status == null) {
+                // нестандартный код сервера: сам код остаётся доступен через getRawStatusCode()
+                throw new UnknownHttpStatusCodeException(response.getStatus(), getStatusText(), response.getHeaders(),
+                        response.getBody(), null);
+            }
+            return status;
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return response.getStatus();
+        }
+
+        @Override
+        public String getStatusText() {
+            HttpStatus status = HttpStatus.resolve(response.getStatus());
+            return status != null ? status.getReasonPhrase() : "";
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(response.getBody());
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
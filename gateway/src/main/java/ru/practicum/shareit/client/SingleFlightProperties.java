@@ -0,0 +1,19 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Настройки объединения одинаковых одновременных GET-запросов к серверу.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit-server.single-flight")
+public class SingleFlightProperties {
+    private boolean enabled = true;
+
+    // ant-шаблоны путей сервера, GET-запросы к которым объединяются
+    private List<String> paths = new ArrayList<>(List.of("/**"));
+}
@@ -1,30 +1,66 @@
 package ru.practicum.shareit.item;
 
+import org.apache.http.client.HttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ResponseCacheInterceptor;
+import ru.practicum.shareit.client.SingleFlightInterceptor;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.Map;
 
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    // тело bulk-импорта не буферизуется ни в запросе, ни в ответе, статус сервера отдаётся как есть
+    private final RestTemplate streamingRest;
+    private final ResponseCache responseCache;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory serverRequestFactory, ResponseCacheInterceptor responseCacheInterceptor,
+                      SingleFlightInterceptor singleFlightInterceptor, HttpClient serverHttpClient,
+                      ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(() -> serverRequestFactory)
+                        .additionalInterceptors(responseCacheInterceptor, singleFlightInterceptor)
                         .build()
         );
+        this.streamingRest = builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                .requestFactory(() -> {
+                    HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+                    factory.setBufferRequestBody(false);
+                    return factory;
+                })
+                .errorHandler(new PassThroughErrorHandler())
+                .build();
+        this.responseCache = responseCache;
     }
 
     public ResponseEntity<Object> get(final Long itemId, final Long userId) {
@@ -48,6 +84,15 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getAvailability(final Long userId, final Long itemId,
+                                                  final LocalDateTime from, final LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
     public ResponseEntity<Object> addItem(final ItemDto itemCreationDto, final Long userId) {
         return post("", userId, itemCreationDto);
     }
@@ -59,4 +104,47 @@ public class ItemClient extends BaseClient {
     public ResponseEntity<Object> addComment(final Long userId, final Long itemId, final CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
+
+    public void addItems(final Long userId, final String contentType, final InputStream body,
+                         final HttpServletResponse response) {
+        try {
+            streamingRest.execute("/bulk", HttpMethod.POST, request -> {
+                request.getHeaders().set(HttpHeaders.CONTENT_TYPE, contentType);
+                request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+                copy(body, request.getBody());
+            }, serverResponse -> {
+                response.setStatus(serverResponse.getRawStatusCode());
+                MediaType type = serverResponse.getHeaders().getContentType();
+                if (type != null) {
+                    response.setContentType(type.toString());
+                }
+                copy(serverResponse.getBody(), response.getOutputStream());
+                return null;
+            });
+        } finally {
+            // вещи сохраняются пачками по ходу ответа, поэтому сбрасываем кэш после его окончания
+            responseCache.invalidateAfterWrite("/items/bulk");
+        }
+    }
+
+    // сбрасываем каждый прочитанный кусок, чтобы результаты пачек доходили до клиента по мере сохранения
+    private static void copy(final InputStream in, final OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            out.flush();
+        }
+    }
+
+    private static class PassThroughErrorHandler implements ResponseErrorHandler {
+        @Override
+        public boolean hasError(final ClientHttpResponse response) {
+            return false;
+        }
+
+        @Override
+        public void handleError(final ClientHttpResponse response) {
+        }
+    }
 }
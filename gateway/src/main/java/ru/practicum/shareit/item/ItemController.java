@@ -1,17 +1,24 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.time.LocalDateTime;
 
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RestController
 @RequestMapping("/items")
 @Validated
@@ -46,6 +53,13 @@ public class ItemController {
         return client.addItem(itemCreationDto, userId);
     }
 
+    @PostMapping(path = "/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    public void addItems(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                         final HttpServletRequest request,
+                         final HttpServletResponse response) throws IOException {
+        client.addItems(userId, request.getContentType(), request.getInputStream(), response);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> updateItem(@PathVariable("itemId") final Long itemId,
                               @RequestBody final ItemDto itemCreationDto,
@@ -53,6 +67,14 @@ public class ItemController {
         return client.update(itemCreationDto, userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@PathVariable final Long itemId,
+                                                  @RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime to) {
+        return client.getAvailability(userId, itemId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") final Long userId,
                                  @PathVariable final Long itemId,
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ResponseCacheFilter;
+import ru.practicum.shareit.client.SingleFlightFilter;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Service
+public class ReactiveItemClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    private final ResponseCache responseCache;
+
+    @Autowired
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ReactorClientHttpConnector serverClientConnector, ResponseCacheFilter responseCacheFilter,
+                              SingleFlightFilter singleFlightFilter,
+                              ResponseCache responseCache) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverClientConnector)
+                        .filter(responseCacheFilter)
+                        .filter(singleFlightFilter)
+                        .build()
+        );
+        this.responseCache = responseCache;
+    }
+
+    public Mono<ResponseEntity<Object>> get(final Long itemId, final Long userId) {
+        return get("/" + itemId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getAll(final Long userId, final Integer from, final Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> search(final Long userId, final String text, final Integer from, final Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size,
+                "text", text
+        );
+        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAvailability(final Long userId, final Long itemId,
+                                                        final LocalDateTime from, final LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> addItem(final ItemDto itemCreationDto, final Long userId) {
+        return post("", userId, itemCreationDto);
+    }
+
+    public Mono<ResponseEntity<Object>> update(final ItemDto itemCreationDto, final Long userId, final Long itemId) {
+        return patch("/" + itemId, userId, itemCreationDto);
+    }
+
+    public Mono<ResponseEntity<Object>> addComment(final Long userId, final Long itemId, final CommentDto commentDto) {
+        return post("/" + itemId + "/comment", userId, commentDto);
+    }
+
+    // тело bulk-импорта идёт к серверу и обратно буферами по мере чтения, статус сервера отдаётся как есть
+    public Mono<Void> addItems(final Long userId, final MediaType contentType, final Flux<DataBuffer> body,
+                               final ServerHttpResponse response) {
+        return webClient.post()
+                .uri("/bulk")
+                .contentType(contentType)
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .body(BodyInserters.fromDataBuffers(body))
+                .exchangeToMono(serverResponse -> {
+                    response.setRawStatusCode(serverResponse.rawStatusCode());
+                    serverResponse.headers().contentType().ifPresent(response.getHeaders()::setContentType);
+                    return response.writeAndFlushWith(serverResponse.bodyToFlux(DataBuffer.class).map(Mono::just));
+                })
+                // вещи сохраняются пачками по ходу ответа, поэтому сбрасываем кэш после его окончания
+                .doFinally(signal -> responseCache.invalidateAfterWrite("/items/bulk"));
+    }
+}
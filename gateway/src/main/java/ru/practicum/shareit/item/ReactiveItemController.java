@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RestController
+@RequestMapping("/items")
+@Validated
+public class ReactiveItemController {
+    private final ReactiveItemClient client;
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> getItem(@PathVariable final Long itemId,
+                                                @RequestHeader("X-Sharer-User-Id") final Long userId) {
+        return client.get(itemId, userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAll(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                               @RequestParam(defaultValue = "0") @PositiveOrZero final Integer from,
+                                               @RequestParam(defaultValue = "10") @Positive final Integer size) {
+        return client.getAll(userId, from, size);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> searchText(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @RequestParam(value = "text") final String text,
+                                                   @RequestParam(defaultValue = "0") @PositiveOrZero final Integer from,
+                                                   @RequestParam(defaultValue = "10") @Positive final Integer size) {
+        return client.search(userId, text, from, size);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> addItem(@RequestBody @Valid final ItemDto itemCreationDto,
+                                                @RequestHeader("X-Sharer-User-Id") final Long userId) {
+        return client.addItem(itemCreationDto, userId);
+    }
+
+    @PostMapping(path = "/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    public Mono<Void> addItems(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                               final ServerHttpRequest request,
+                               final ServerHttpResponse response) {
+        return client.addItems(userId, request.getHeaders().getContentType(), request.getBody(), response);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> updateItem(@PathVariable("itemId") final Long itemId,
+                                                   @RequestBody final ItemDto itemCreationDto,
+                                                   @RequestHeader("X-Sharer-User-Id") final Long userId) {
+        return client.update(itemCreationDto, userId, itemId);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@PathVariable final Long itemId,
+                                                        @RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime from,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime to) {
+        return client.getAvailability(userId, itemId, from, to);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Object>> addComment(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                   @PathVariable final Long itemId,
+                                                   @Valid @RequestBody final CommentDto commentDto) {
+        return client.addComment(userId, itemId, commentDto);
+    }
+}
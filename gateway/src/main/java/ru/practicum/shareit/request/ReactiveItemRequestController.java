@@ -0,0 +1,48 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RestController
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+@Validated
+public class ReactiveItemRequestController {
+
+    private final ReactiveRequestClient client;
+
+    @PostMapping()
+    public Mono<ResponseEntity<Object>> addRequest(@RequestHeader("X-Sharer-User-Id") Long id,
+                                                   @RequestBody @Valid ItemRequestDto itemRequestDto) {
+        return client.addRequest(id, itemRequestDto);
+    }
+
+    @GetMapping()
+    public Mono<ResponseEntity<Object>> getAllOwnRequests(@RequestHeader("X-Sharer-User-Id") Long id,
+                                                          @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                          @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        return client.getAllOwnRequests(id, from, size);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Object>> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long id,
+                                                       @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                       @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        return client.getAllRequests(id, from, size);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Object>> getRequestById(@RequestHeader("X-Sharer-User-Id") Long id,
+                                                       @PathVariable Long requestId) {
+        return client.getRequestById(id, requestId);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ResponseCacheFilter;
+import ru.practicum.shareit.client.SingleFlightFilter;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Service
+public class ReactiveRequestClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ReactiveRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ReactorClientHttpConnector serverClientConnector, ResponseCacheFilter responseCacheFilter,
+                                 SingleFlightFilter singleFlightFilter) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).clientConnector(serverClientConnector)
+                .filter(responseCacheFilter).filter(singleFlightFilter).build());
+    }
+
+    public Mono<ResponseEntity<Object>> addRequest(Long id, ItemRequestDto itemRequestDto) {
+        return post("", id, itemRequestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllOwnRequests(Long id, int from, int size) {
+        Map<String, Object> parameters = Map.of("from", from, "size", size);
+        return get("?from={from}&size={size}", id, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllRequests(Long id, int from, int size) {
+        Map<String, Object> parameters = Map.of("from", from, "size", size);
+        return get("/all?from={from}&size={size}", id, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getRequestById(Long id, Long requestId) {
+        return get("/" + requestId, id);
+    }
+}
@@ -2,23 +2,30 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCacheInterceptor;
+import ru.practicum.shareit.client.SingleFlightInterceptor;
 
 
 import java.util.Map;
 
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Service
 public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX)).requestFactory(HttpComponentsClientHttpRequestFactory::new).build());
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory serverRequestFactory, ResponseCacheInterceptor responseCacheInterceptor,
+                         SingleFlightInterceptor singleFlightInterceptor) {
+        super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX)).requestFactory(() -> serverRequestFactory)
+                .additionalInterceptors(responseCacheInterceptor, singleFlightInterceptor).build());
     }
 
     public ResponseEntity<Object> addRequest(Long id, ItemRequestDto itemRequestDto) {
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ResponseCacheFilter;
+import ru.practicum.shareit.client.SingleFlightFilter;
+import ru.practicum.shareit.user.dto.UserDto;
+import reactor.core.publisher.Mono;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Service
+public class ReactiveUserClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ReactorClientHttpConnector serverClientConnector, ResponseCacheFilter responseCacheFilter,
+                              SingleFlightFilter singleFlightFilter) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverClientConnector)
+                        .filter(responseCacheFilter)
+                        .filter(singleFlightFilter)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> get(final Long userId) {
+        return get("/" + userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getAll() {
+        return get("");
+    }
+
+    public Mono<ResponseEntity<Object>> addUser(final UserDto userDto) {
+        return post("", userDto);
+    }
+
+    public Mono<ResponseEntity<Object>> delete(final Long userId) {
+        return delete("/" + userId);
+    }
+
+    public Mono<ResponseEntity<Object>> update(final UserDto userDto, final Long userId) {
+        return patch("/" + userId, userDto);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.user.dto.UserDto;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RestController
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Validated
+public class ReactiveUserController {
+    private final ReactiveUserClient client;
+
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable(value = "userId") final Long userId) {
+        return client.get(userId);
+    }
+
+    @GetMapping()
+    public Mono<ResponseEntity<Object>> getAllUsers() {
+        return client.getAll();
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> addUser(@RequestBody @Valid final UserDto userDto) {
+        return client.addUser(userDto);
+    }
+
+    @PatchMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> updateUser(@PathVariable("userId") final Long userId,
+                                                   @RequestBody final UserDto userDto) {
+        userDto.setId(userId);
+        return client.update(userDto, userId);
+    }
+
+    @DeleteMapping("/{userId}")
+    public Mono<Void> deleteUser(@PathVariable("userId") final Long userId) {
+        return client.delete(userId).then();
+    }
+}
@@ -0,0 +1,166 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+class ReactiveGatewayTest {
+    private static final HttpServer server = startServer();
+    private static final AtomicReference<String> lastUri = new AtomicReference<>();
+    private static final AtomicReference<String> lastUserId = new AtomicReference<>();
+    private static final AtomicInteger searches = new AtomicInteger();
+
+    @Autowired
+    private WebTestClient client;
+
+    @DynamicPropertySource
+    static void serverUrl(final DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void getItem_shouldProxyPathAndUserHeader() {
+        client.get().uri("/items/5")
+                .header("X-Sharer-User-Id", "3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.id").isEqualTo(1);
+
+        assertThat(lastUri.get()).isEqualTo("/items/5");
+        assertThat(lastUserId.get()).isEqualTo("3");
+    }
+
+    @Test
+    void getBookings_shouldPassCursorInsteadOfOffset() {
+        client.get().uri("/bookings/owner?state=past&size=2&cursor=abc")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(lastUri.get()).isEqualTo("/bookings/owner?state=PAST&size=2&cursor=abc");
+    }
+
+    @Test
+    void serverError_shouldBePassedThroughWithBody() {
+        client.get().uri("/users/404")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo("{\"error\":\"User not found\"}");
+    }
+
+    @Test
+    void invalidRequest_shouldBeRejectedWithoutCallingServer() {
+        lastUri.set(null);
+        client.get().uri("/requests/all?size=0")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/bookings?state=unknown")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().is5xxServerError();
+
+        assertThat(lastUri.get()).isNull();
+    }
+
+    @Test
+    void bulkImport_shouldStreamBodyBothWays() {
+        String rows = "{\"name\":\"Дрель\",\"description\":\"ударная\",\"available\":true}\n";
+        client.post().uri("/items/bulk")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .bodyValue(rows)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("application/x-ndjson")
+                .expectBody(String.class).isEqualTo(rows);
+    }
+
+    @Test
+    void repeatedSearch_shouldBeServedFromCacheUntilWrite() {
+        for (int i = 0; i < 3; i++) {
+            client.get().uri("/items/search?text=drill")
+                    .header("X-Sharer-User-Id", "1")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody().jsonPath("$.id").isEqualTo(1);
+        }
+        assertThat(searches.get()).isEqualTo(1);
+
+        client.patch().uri("/items/1")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"Дрель\"}")
+                .exchange()
+                .expectStatus().isOk();
+        client.get().uri("/items/search?text=drill")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk();
+        assertThat(searches.get()).isEqualTo(2);
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            httpServer.createContext("/", ReactiveGatewayTest::handle);
+            httpServer.start();
+            return httpServer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void handle(final HttpExchange exchange) throws IOException {
+        lastUri.set(exchange.getRequestURI().toString());
+        lastUserId.set(exchange.getRequestHeaders().getFirst("X-Sharer-User-Id"));
+        byte[] body;
+        int status = 200;
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals("/items/search")) {
+            searches.incrementAndGet();
+        }
+        if (path.equals("/items/bulk")) {
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+        } else if (path.equals("/users/404")) {
+            status = 404;
+            body = "{\"error\":\"User not found\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+        } else {
+            body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
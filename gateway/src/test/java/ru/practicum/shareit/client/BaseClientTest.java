@@ -0,0 +1,88 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaseClientTest {
+    private static final String PAGE = "[{\"id\":1,\"name\":\"Дрель\",\"available\":true}]";
+    private static final String ERROR = "{\"error\":\"Item not found\"}";
+
+    private HttpServer server;
+    private TestClient client;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            boolean found = exchange.getRequestURI().getPath().equals("/items");
+            byte[] body = (found ? PAGE : ERROR).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("X-Next-Cursor", "abc");
+            exchange.sendResponseHeaders(found ? 200 : 404, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/users", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:" + server.getAddress().getPort()));
+        client = new TestClient(rest);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void success_shouldRelayServerBytesAndHeaders() {
+        ResponseEntity<Object> response = client.get("/items", 1L);
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo(PAGE.getBytes(StandardCharsets.UTF_8));
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(PAGE.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(response.getHeaders().getFirst("X-Next-Cursor")).isEqualTo("abc");
+        assertThat(response.getHeaders().containsKey("Transfer-Encoding")).isFalse();
+    }
+
+    @Test
+    void error_shouldRelayStatusBodyAndContentType() {
+        ResponseEntity<Object> response = client.get("/items/99", 1L);
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(404);
+        assertThat(response.getBody()).isEqualTo(ERROR.getBytes(StandardCharsets.UTF_8));
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void emptyBody_shouldBeRelayedWithoutBody() {
+        ResponseEntity<Object> response = client.delete("/users/1");
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.hasBody()).isFalse();
+    }
+
+    private static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest) {
+            super(rest);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сравнение старого пути gateway (разбор ответа в Object и повторная сериализация) с передачей байтов
+ * на странице /items из 1000 вещей. Запуск: mvn test -pl gateway -Dshareit.loadtest=true
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "shareit.loadtest", matches = "true")
+class PassThroughBenchmarkTest {
+    private static final int ITEMS = 1000;
+    private static final int WARMUP = 200;
+    private static final int REQUESTS = 1000;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final RestTemplate rest = new RestTemplate();
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        byte[] page = IntStream.range(0, ITEMS)
+                .mapToObj(i -> String.format("{\"id\":%d,\"name\":\"Item %d\",\"description\":\"Description of item %d\","
+                        + "\"available\":true,\"owner\":{\"id\":1,\"name\":\"Owner\",\"email\":\"owner@mail.ru\"},"
+                        + "\"lastBooking\":null,\"nextBooking\":null,\"comments\":[]}", i, i, i))
+                .collect(Collectors.joining(",", "[", "]"))
+                .getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, page.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(page);
+            }
+        });
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/items";
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void passThrough_shouldBeFasterThanParsing() throws Exception {
+        Map<String, Double> rps = Map.of(
+                "object", run(this::viaObject),
+                "bytes", run(this::viaBytes)
+        );
+        rps.forEach((mode, value) -> log.info("{}: {} requests/sec", mode, Math.round(value)));
+
+        assertThat(rps.get("bytes")).isGreaterThan(rps.get("object"));
+    }
+
+    // так делал BaseClient: дерево Jackson от RestTemplate, затем сериализация конвертером Spring MVC
+    private byte[] viaObject() throws IOException {
+        Object body = rest.exchange(url, HttpMethod.GET, HttpEntity.EMPTY, Object.class).getBody();
+        return mapper.writeValueAsBytes(body);
+    }
+
+    private byte[] viaBytes() {
+        return rest.exchange(url, HttpMethod.GET, HttpEntity.EMPTY, byte[].class).getBody();
+    }
+
+    private double run(final Call call) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            call.execute();
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            call.execute();
+        }
+        return REQUESTS / ((System.nanoTime() - started) / 1_000_000_000.0);
+    }
+
+    private interface Call {
+        byte[] execute() throws Exception;
+    }
+}
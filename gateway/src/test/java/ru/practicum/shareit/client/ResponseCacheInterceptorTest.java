@@ -0,0 +1,157 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheInterceptorTest {
+    private static final String ETAG = "\"v1\"";
+
+    private HttpServer server;
+    private final List<String> served = new CopyOnWriteArrayList<>();
+    private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+    private final ResponseCacheProperties properties = new ResponseCacheProperties();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            served.add(exchange.getRequestMethod() + " " + exchange.getRequestURI());
+            String condition = exchange.getRequestHeaders().getFirst("If-None-Match");
+            ifNoneMatch.add(String.valueOf(condition));
+            exchange.getResponseHeaders().set("ETag", ETAG);
+            if (ETAG.equals(condition)) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = ("{\"user\":" + exchange.getRequestHeaders().getFirst("X-Sharer-User-Id") + "}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void repeatedGet_shouldBeServedFromCachePerUser() {
+        RestTemplate rest = rest(new ResponseCache(properties));
+
+        assertThat(get(rest, "/items/1", 1)).isEqualTo("{\"user\":1}");
+        assertThat(get(rest, "/items/1", 1)).isEqualTo("{\"user\":1}");
+        assertThat(get(rest, "/items/1", 2)).isEqualTo("{\"user\":2}");
+        get(rest, "/items/search?text=drill", 1);
+        get(rest, "/items/search?text=drill", 2);
+
+        assertThat(served).containsExactly("GET /items/1", "GET /items/1", "GET /items/search?text=drill");
+    }
+
+    @Test
+    void uncachedPaths_shouldAlwaysBeForwarded() {
+        RestTemplate rest = rest(new ResponseCache(properties));
+
+        get(rest, "/bookings/1", 1);
+        get(rest, "/bookings/1", 1);
+        get(rest, "/requests", 1);
+        get(rest, "/requests", 1);
+
+        assertThat(served).hasSize(4);
+    }
+
+    @Test
+    void writeThroughGateway_shouldInvalidateAffectedEntries() {
+        RestTemplate rest = rest(new ResponseCache(properties));
+        get(rest, "/items/1", 1);
+        get(rest, "/requests/all", 1);
+
+        rest.exchange("/bookings", HttpMethod.POST, json("{}", 1), String.class);
+        get(rest, "/items/1", 1);
+        get(rest, "/requests/all", 1);
+
+        assertThat(served).containsExactly("GET /items/1", "GET /requests/all", "POST /bookings", "GET /items/1");
+    }
+
+    @Test
+    void staleEntry_shouldBeRevalidatedWithEtag() {
+        properties.setTtl(Duration.ZERO);
+        ResponseCache cache = new ResponseCache(properties);
+        RestTemplate rest = rest(cache);
+
+        assertThat(get(rest, "/items/1", 1)).isEqualTo("{\"user\":1}");
+        assertThat(get(rest, "/items/1", 1)).isEqualTo("{\"user\":1}");
+
+        assertThat(ifNoneMatch).containsExactly("null", ETAG);
+        assertThat(cache.getNotModifiedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void disabledCache_shouldForwardEverything() {
+        properties.setEnabled(false);
+        RestTemplate rest = rest(new ResponseCache(properties));
+
+        get(rest, "/items/1", 1);
+        get(rest, "/items/1", 1);
+
+        assertThat(served).hasSize(2);
+    }
+
+    @Test
+    void metrics_shouldReportHitsAndMisses() {
+        ResponseCache cache = new ResponseCache(properties);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new ServerClientFiltersConfig().responseCacheMetrics(cache).bindTo(registry);
+        RestTemplate rest = rest(cache);
+
+        get(rest, "/items/1", 1);
+        get(rest, "/items/1", 1);
+        get(rest, "/items/1", 1);
+
+        assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.revalidations").tag("result", "not_modified").functionCounter().count()).isZero();
+    }
+
+    private RestTemplate rest(final ResponseCache cache) {
+        RestTemplate rest = new RestTemplate(new HttpComponentsClientHttpRequestFactory());
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:" + server.getAddress().getPort()));
+        rest.getInterceptors().add(new ResponseCacheInterceptor(cache));
+        return rest;
+    }
+
+    private static String get(final RestTemplate rest, final String path, final long userId) {
+        return rest.exchange(path, HttpMethod.GET, json(null, userId), String.class).getBody();
+    }
+
+    private static HttpEntity<String> json(final String body, final long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Content-Type", "application/json");
+        headers.set(ResponseCache.USER_HEADER, String.valueOf(userId));
+        return new HttpEntity<>(body, headers);
+    }
+}
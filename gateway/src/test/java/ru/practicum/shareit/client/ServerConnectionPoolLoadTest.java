@@ -0,0 +1,113 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Нагрузочный прогон пула: сервер-заглушка отвечает с фиксированной задержкой, 32 потока gateway
+ * гоняют запросы через пулы разного размера. Запуск: mvn test -pl gateway -Dshareit.loadtest=true
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "shareit.loadtest", matches = "true")
+class ServerConnectionPoolLoadTest {
+    private static final int CLIENT_THREADS = 32;
+    private static final int REQUESTS_PER_THREAD = 25;
+    private static final long SERVER_LATENCY_MS = 20;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        serverExecutor = Executors.newFixedThreadPool(128);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 512);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(SERVER_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void throughput_shouldScaleWithPoolSize() throws Exception {
+        Map<Integer, Double> throughput = new LinkedHashMap<>();
+        for (int poolSize : new int[]{2, 8, 32}) {
+            throughput.put(poolSize, run(poolSize));
+        }
+        throughput.forEach((poolSize, rps) ->
+                log.info("pool size {}: {} requests/sec", poolSize, Math.round(rps)));
+
+        assertThat(throughput.get(8)).isGreaterThan(throughput.get(2) * 2);
+        assertThat(throughput.get(32)).isGreaterThan(throughput.get(8) * 2);
+    }
+
+    private double run(final int poolSize) throws Exception {
+        ServerHttpClientProperties properties = new ServerHttpClientProperties();
+        properties.setMaxConnections(poolSize);
+        properties.setMaxConnectionsPerRoute(poolSize);
+        properties.setConnectionRequestTimeout(Duration.ofSeconds(30));
+        PoolingHttpClientConnectionManager manager = ServerHttpClientConfig.connectionManager(properties);
+        String url = "http://localhost:" + server.getAddress().getPort() + "/users";
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENT_THREADS);
+        try (CloseableHttpClient httpClient = ServerHttpClientConfig.httpClient(manager, properties)) {
+            RestTemplate rest = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+            rest.getForObject(url, String.class);
+
+            long started = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENT_THREADS; i++) {
+                futures.add(clients.submit(() -> {
+                    for (int j = 0; j < REQUESTS_PER_THREAD; j++) {
+                        rest.getForObject(url, String.class);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+            return CLIENT_THREADS * REQUESTS_PER_THREAD / seconds;
+        } finally {
+            clients.shutdownNow();
+            manager.close();
+        }
+    }
+}
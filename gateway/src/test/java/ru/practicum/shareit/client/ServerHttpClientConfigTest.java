@@ -0,0 +1,100 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerHttpClientConfigTest {
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withUserConfiguration(ServerHttpClientConfig.class);
+
+    private HttpServer server;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void pool_shouldApplyConfiguredLimits() {
+        contextRunner
+                .withPropertyValues("shareit-server.http.max-connections=40",
+                        "shareit-server.http.max-connections-per-route=10")
+                .run(context -> {
+                    PoolingHttpClientConnectionManager manager = context.getBean(PoolingHttpClientConnectionManager.class);
+                    assertThat(manager.getMaxTotal()).isEqualTo(40);
+                    assertThat(manager.getDefaultMaxPerRoute()).isEqualTo(10);
+                });
+    }
+
+    @Test
+    void sequentialRequests_shouldReuseOneKeepAliveConnection() {
+        contextRunner.run(context -> {
+            RestTemplate rest = new RestTemplate(context.getBean(ClientHttpRequestFactory.class));
+            for (int i = 0; i < 20; i++) {
+                rest.getForObject("http://localhost:" + server.getAddress().getPort() + "/users", String.class);
+            }
+            assertThat(clientPorts).hasSize(1);
+        });
+    }
+
+    @Test
+    void poolMetrics_shouldReportLeasedAvailableAndPending() {
+        contextRunner.run(context -> {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            context.getBean("serverConnectionPoolMetrics", MeterBinder.class)
+                    .bindTo(registry);
+            RestTemplate rest = new RestTemplate(context.getBean(ClientHttpRequestFactory.class));
+            rest.getForObject("http://localhost:" + server.getAddress().getPort() + "/users", String.class);
+
+            assertThat(registry.get("httpcomponents.httpclient.pool.total.connections")
+                    .tag("state", "available").gauge().value()).isEqualTo(1.0);
+            assertThat(registry.get("httpcomponents.httpclient.pool.total.connections")
+                    .tag("state", "leased").gauge().value()).isEqualTo(0.0);
+            assertThat(registry.get("httpcomponents.httpclient.pool.total.pending").gauge().value()).isEqualTo(0.0);
+            assertThat(registry.get("httpcomponents.httpclient.pool.total.max").gauge().value()).isEqualTo(200.0);
+        });
+    }
+
+    @Test
+    void reactiveMode_shouldNotCreateApachePool() {
+        new ReactiveWebApplicationContextRunner()
+                .withUserConfiguration(ServerHttpClientConfig.class)
+                .run(context -> assertThat(context)
+                        .doesNotHaveBean(PoolingHttpClientConnectionManager.class)
+                        .doesNotHaveBean("serverConnectionPoolMetrics"));
+    }
+}
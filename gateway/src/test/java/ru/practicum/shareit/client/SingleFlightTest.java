@@ -0,0 +1,194 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.UnknownHttpStatusCodeException;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+    private static final int CALLERS = 10;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+    private final AtomicInteger served = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SingleFlightProperties properties = new SingleFlightProperties();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 64);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            served.incrementAndGet();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = ("{\"user\":" + exchange.getRequestHeaders().getFirst("X-Sharer-User-Id") + "}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        release.countDown();
+        callers.shutdownNow();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void concurrentIdenticalGets_shouldShareOneServerCall() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(properties);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new ServerClientFiltersConfig().singleFlightMetrics(singleFlight).bindTo(registry);
+        RestTemplate rest = rest(singleFlight);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> get(rest, "/items/1", 1)));
+        }
+        await(() -> singleFlight.getLeaderCount() + singleFlight.getFollowerCount() == CALLERS);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("{\"user\":1}");
+        }
+        assertThat(served.get()).isEqualTo(1);
+        assertThat(registry.get("shareit.single.flight.calls").tag("role", "follower").functionCounter().count())
+                .isEqualTo(CALLERS - 1);
+        assertThat(registry.get("shareit.single.flight.collapse.ratio").gauge().value()).isEqualTo(0.9);
+    }
+
+    @Test
+    void differentUsers_shouldNotShareCalls() throws Exception {
+        RestTemplate rest = rest(new SingleFlight(properties));
+
+        Future<String> first = callers.submit(() -> get(rest, "/items/1", 1));
+        Future<String> second = callers.submit(() -> get(rest, "/items/1", 2));
+        await(() -> served.get() == 2);
+        release.countDown();
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("{\"user\":1}");
+        assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo("{\"user\":2}");
+    }
+
+    @Test
+    void pathsOutOfScope_shouldNotBeCollapsed() throws Exception {
+        properties.setPaths(List.of("/items/*"));
+        RestTemplate rest = rest(new SingleFlight(properties));
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(callers.submit(() -> get(rest, "/bookings/1", 1)));
+        }
+        await(() -> served.get() == 3);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("{\"user\":1}");
+        }
+    }
+
+    @Test
+    void nonStandardStatus_shouldBeAvailableAsRawCode() throws Exception {
+        SingleFlightInterceptor interceptor = new SingleFlightInterceptor(new SingleFlight(properties));
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("/items/1"));
+        request.getHeaders().set("X-Sharer-User-Id", "1");
+
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0],
+                (req, body) -> new MockClientHttpResponse(new byte[0], 599));
+
+        assertThat(response.getRawStatusCode()).isEqualTo(599);
+        assertThatThrownBy(response::getStatusCode).isInstanceOf(UnknownHttpStatusCodeException.class);
+    }
+
+    @Test
+    void reactiveFilter_shouldShareOneExchange() {
+        SingleFlight singleFlight = new SingleFlight(properties);
+        AtomicInteger exchanges = new AtomicInteger();
+        WebClient client = WebClient.builder()
+                .exchangeFunction(request -> {
+                    exchanges.incrementAndGet();
+                    return Mono.delay(Duration.ofMillis(100))
+                            .map(ignored -> ClientResponse.create(HttpStatus.OK).body("{\"id\":1}").build());
+                })
+                .filter(new SingleFlightFilter(singleFlight))
+                .build();
+        Mono<String> call = client.get().uri("http://server/items/1")
+                .header(ResponseCache.USER_HEADER, "1")
+                .retrieve()
+                .bodyToMono(String.class);
+
+        var results = Mono.zip(call, call, call).block(Duration.ofSeconds(5));
+
+        assertThat(results).isNotNull();
+        assertThat(results.toList()).containsOnly("{\"id\":1}");
+        assertThat(exchanges.get()).isEqualTo(1);
+        assertThat(singleFlight.getFollowerCount()).isEqualTo(2);
+    }
+
+    private RestTemplate rest(final SingleFlight singleFlight) {
+        RestTemplate rest = new RestTemplate(new HttpComponentsClientHttpRequestFactory());
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:" + server.getAddress().getPort()));
+        rest.getInterceptors().add(new SingleFlightInterceptor(singleFlight));
+        return rest;
+    }
+
+    private static String get(final RestTemplate rest, final String path, final long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(ResponseCache.USER_HEADER, String.valueOf(userId));
+        return rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class).getBody();
+    }
+
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Синтетические данные прямо в схему сервера: пользователи, запросы, вещи, бронирования и комментарии.
+ * Владельцы вещей, популярность вещей и слова в текстах распределены по Zipf с показателем data.skew.
+ * Id проставляются явно, после вставки последовательности переводятся за последний id.
+ */
+@Slf4j
+public class DataGenerator {
+    static final String[] WORDS = {"drill", "saw", "hammer", "ladder", "tent", "bike", "kayak", "projector",
+            "camera", "mixer", "cordless", "electric", "folding", "portable", "large", "compact", "garden",
+            "hose", "table", "chair", "speaker", "guitar", "tripod", "lens", "scooter", "helmet", "sleeping",
+            "bag", "stove", "grill", "vacuum", "cleaner", "iron", "sewing", "machine", "jack", "wrench", "lamp",
+            "router", "sander"};
+    private static final int BATCH_SIZE = 1000;
+
+    private final Scenario scenario;
+    private final Random random;
+    private final Zipf words;
+
+    public DataGenerator(final Scenario scenario, final Random random) {
+        this.scenario = scenario;
+        this.random = random;
+        this.words = new Zipf(WORDS.length, scenario.getDouble("data.skew", 1.0));
+    }
+
+    public Dataset seed(final Connection connection) throws SQLException {
+        int users = scenario.getInt("data.users", 1000);
+        int items = scenario.getInt("data.items", 10_000);
+        int bookings = scenario.getInt("data.bookings", 50_000);
+        int comments = scenario.getInt("data.comments", 10_000);
+        int requests = scenario.getInt("data.requests", 2000);
+        double skew = scenario.getDouble("data.skew", 1.0);
+        Dataset dataset = new Dataset(users, items, skew);
+        LocalDateTime now = LocalDateTime.now();
+
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            for (String table : new String[]{"comments", "bookings", "items", "requests", "users"}) {
+                statement.executeUpdate("delete from " + table);
+            }
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into users (user_id, name, email) values (?, ?, ?)")) {
+            for (int id = 1; id <= users; id++) {
+                insert.setLong(1, id);
+                insert.setString(2, "user" + id);
+                insert.setString(3, "user" + id + "@loadtest.ru");
+                addBatch(insert, id);
+            }
+            insert.executeBatch();
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into requests (request_id, description, created, user_id) values (?, ?, ?, ?)")) {
+            for (int id = 1; id <= requests; id++) {
+                insert.setLong(1, id);
+                insert.setString(2, "need " + text(3));
+                insert.setTimestamp(3, Timestamp.valueOf(now.minusHours(random.nextInt(24 * 365))));
+                insert.setLong(4, random.nextInt(users) + 1);
+                addBatch(insert, id);
+            }
+            insert.executeBatch();
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement("insert into items "
+                + "(item_id, name, description, available, user_id, request_id) values (?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= items; id++) {
+                insert.setLong(1, id);
+                insert.setString(2, text(2));
+                insert.setString(3, text(6 + random.nextInt(5)));
+                insert.setBoolean(4, dataset.isAvailable(id));
+                insert.setLong(5, dataset.ownerOf(id));
+                if (requests > 0 && random.nextInt(5) == 0) {
+                    insert.setLong(6, random.nextInt(requests) + 1);
+                } else {
+                    insert.setNull(6, Types.BIGINT);
+                }
+                addBatch(insert, id);
+            }
+            insert.executeBatch();
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement("insert into bookings "
+                + "(booking_id, start_time, end_time, status, item_id, booker_id, owner_id, phase) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= bookings; id++) {
+                long itemId = dataset.popularItem(random);
+                LocalDateTime start = now.minusDays(365).plusHours(random.nextInt(24 * 545));
+                LocalDateTime end = start.plusDays(1 + random.nextInt(7));
+                insert.setLong(1, id);
+                insert.setTimestamp(2, Timestamp.valueOf(start));
+                insert.setTimestamp(3, Timestamp.valueOf(end));
+                insert.setString(4, status(end.isBefore(now)));
+                insert.setLong(5, itemId);
+                insert.setLong(6, dataset.userOtherThan(dataset.ownerOf(itemId), random));
+                insert.setLong(7, dataset.ownerOf(itemId));
+                insert.setString(8, phase(start, end, now));
+                addBatch(insert, id);
+            }
+            insert.executeBatch();
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement("insert into comments "
+                + "(comment_id, text, item_id, author_id, created) values (?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= comments; id++) {
+                insert.setLong(1, id);
+                insert.setString(2, text(5));
+                insert.setLong(3, dataset.popularItem(random));
+                insert.setLong(4, random.nextInt(users) + 1);
+                insert.setTimestamp(5, Timestamp.valueOf(now.minusHours(random.nextInt(24 * 365))));
+                addBatch(insert, id);
+            }
+            insert.executeBatch();
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            restartSequence(statement, "users_seq", users);
+            restartSequence(statement, "requests_seq", requests);
+            restartSequence(statement, "items_seq", items);
+            restartSequence(statement, "bookings_seq", bookings);
+            restartSequence(statement, "comments_seq", comments);
+        }
+        connection.commit();
+        log.info("Seeded {} users, {} items, {} bookings, {} comments, {} requests",
+                users, items, bookings, comments, requests);
+        return dataset;
+    }
+
+    /**
+     * Строка поиска с тем же распределением слов, что и в названиях и описаниях.
+     */
+    public String searchText(final Random random) {
+        return WORDS[words.next(random)];
+    }
+
+    private String text(final int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[words.next(random)]);
+        }
+        return text.toString();
+    }
+
+    private String status(final boolean past) {
+        int roll = random.nextInt(10);
+        if (past) {
+            return roll < 8 ? "APPROVED" : roll < 9 ? "REJECTED" : "CANCELLED";
+        }
+        return roll < 5 ? "WAITING" : "APPROVED";
+    }
+
+    // как BookingPhase.of на сервере; сервер после старта всё равно досчитает фазы своим проходом
+    private static String phase(final LocalDateTime start, final LocalDateTime end, final LocalDateTime now) {
+        if (!end.isAfter(now)) {
+            return "PAST";
+        }
+        return start.isAfter(now) ? "FUTURE" : "CURRENT";
+    }
+
+    private static void addBatch(final PreparedStatement insert, final int row) throws SQLException {
+        insert.addBatch();
+        if (row % BATCH_SIZE == 0) {
+            insert.executeBatch();
+        }
+    }
+
+    // pooled optimizer выдаёт id блоками до значения последовательности, поэтому запас больше шага в 50
+    private static void restartSequence(final Statement statement, final String sequence, final int lastId)
+            throws SQLException {
+        statement.executeUpdate("alter sequence " + sequence + " restart with " + (lastId + 100));
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Random;
+
+/**
+ * Что известно генератору трафика о засеянных данных: владельцы и доступность вещей
+ * и распределения популярности. Id пользователей и вещей идут подряд с 1.
+ */
+public class Dataset {
+    private final int users;
+    private final long[] owners;
+    private final Zipf ownerRanks;
+    private final Zipf itemRanks;
+
+    public Dataset(final int users, final int items, final double skew) {
+        this.users = users;
+        this.owners = new long[items];
+        this.ownerRanks = new Zipf(users, skew);
+        this.itemRanks = new Zipf(items, skew);
+        // у вещей тот же перекос по владельцам, что и у запросов владельцев: у немногих пользователей много вещей
+        Random random = new Random(items);
+        for (int i = 0; i < items; i++) {
+            owners[i] = ownerRanks.next(random) + 1;
+        }
+    }
+
+    public long ownerOf(final long itemId) {
+        return owners[(int) itemId - 1];
+    }
+
+    // каждая десятая вещь недоступна для бронирования
+    public boolean isAvailable(final long itemId) {
+        return itemId % 10 != 0;
+    }
+
+    public long popularItem(final Random random) {
+        return itemRanks.next(random) + 1;
+    }
+
+    public long popularAvailableItem(final Random random) {
+        long itemId;
+        do {
+            itemId = popularItem(random);
+        } while (!isAvailable(itemId));
+        return itemId;
+    }
+
+    public long busyOwner(final Random random) {
+        return ownerRanks.next(random) + 1;
+    }
+
+    public long anyUser(final Random random) {
+        return random.nextInt(users) + 1;
+    }
+
+    public long userOtherThan(final long userId, final Random random) {
+        long other = anyUser(random);
+        return other == userId ? other % users + 1 : other;
+    }
+}
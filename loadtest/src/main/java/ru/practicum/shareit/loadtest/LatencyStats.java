@@ -0,0 +1,83 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Задержки и ответы по строкам отчёта. Хранит все замеры, перцентили считаются по отсортированной копии.
+ */
+public class LatencyStats {
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    /**
+     * @param status HTTP-статус ответа или -1, если ответа не было
+     */
+    public void record(final String label, final long nanos, final int status) {
+        series.computeIfAbsent(label, key -> new Series()).add(nanos, status);
+    }
+
+    public List<Row> summarize(final Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        List<Row> rows = new ArrayList<>();
+        new TreeMap<>(series).forEach((label, values) -> rows.add(values.summarize(label, seconds)));
+        return rows;
+    }
+
+    @Value
+    public static class Row {
+        String endpoint;
+        int requests;
+        int clientErrors;
+        int serverErrors;
+        double throughput;
+        double p50Millis;
+        double p99Millis;
+        double maxMillis;
+    }
+
+    private static class Series {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int clientErrors;
+        private int serverErrors;
+
+        synchronized void add(final long nanos, final int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (status >= 400 && status < 500) {
+                clientErrors++;
+            } else if (status >= 500 || status < 0) {
+                serverErrors++;
+            }
+        }
+
+        synchronized Row summarize(final String label, final double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Row(label, count, clientErrors, serverErrors, count / seconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(count == 0 ? 0 : sorted[count - 1]));
+        }
+
+        private static long percentile(final long[] sorted, final double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+
+        private static double millis(final long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Нагрузочный прогон: сервер создаёт схему миграциями, генератор наполняет её, сервер перезапускается
+ * (индекс поиска и реестр пользователей строятся при старте), затем через gateway идёт прогрев
+ * и замер. Итог — таблица p50/p99 и пропускной способности по эндпоинтам и JSON в рабочем каталоге.
+ * <p>
+ * Запуск: LoadTest &lt;scenario.properties&gt; [key=value ...]
+ */
+@Slf4j
+public class LoadTest {
+
+    public static void main(final String[] args) throws Exception {
+        Path scenarioFile = Path.of(args.length > 0 ? args[0] : "scenarios/mixed.properties");
+        Map<String, String> overrides = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            String[] pair = args[i].split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected key=value, got " + args[i]);
+            }
+            overrides.put(pair[0], pair[1]);
+        }
+        Scenario scenario = Scenario.load(scenarioFile, overrides);
+        Path workDir = Path.of(scenario.get("work-dir", "target/loadtest")).toAbsolutePath();
+        Files.createDirectories(workDir);
+        Files.deleteIfExists(workDir.resolve("server.log"));
+        Files.deleteIfExists(workDir.resolve("gateway.log"));
+
+        String datasourceUrl = scenario.get("datasource.url", "");
+        if (datasourceUrl.isEmpty()) {
+            // свежая файловая H2 на каждый прогон; AUTO_SERVER пускает генератор к базе работающего сервера
+            Files.deleteIfExists(workDir.resolve("shareit.mv.db"));
+            Files.deleteIfExists(workDir.resolve("shareit.trace.db"));
+            datasourceUrl = "jdbc:h2:file:" + workDir.resolve("shareit") + ";AUTO_SERVER=TRUE";
+        }
+
+        Random random = new Random(scenario.getInt("seed", 42));
+        DataGenerator generator = new DataGenerator(scenario, random);
+        try (ShareItProcesses processes = new ShareItProcesses(scenario, workDir, datasourceUrl)) {
+            processes.startServer();
+            processes.stopServer();
+            Dataset dataset;
+            try (Connection connection = DriverManager.getConnection(datasourceUrl,
+                    scenario.get("datasource.username", "sa"), scenario.get("datasource.password", ""))) {
+                dataset = generator.seed(connection);
+            }
+            processes.startServer();
+            processes.startGateway();
+
+            Traffic traffic = new Traffic(scenario, processes.gatewayUri(), dataset, generator);
+            Duration warmup = scenario.getDuration("warmup", "10s");
+            log.info("Warming up for {}", warmup);
+            traffic.run(warmup, new LatencyStats());
+
+            LatencyStats stats = new LatencyStats();
+            Duration duration = scenario.getDuration("duration", "60s");
+            log.info("Measuring for {} with {} threads", duration, scenario.getInt("threads", 16));
+            Duration elapsed = traffic.run(duration, stats);
+            report(scenario, stats.summarize(elapsed), elapsed, workDir);
+        }
+    }
+
+    private static void report(final Scenario scenario, final List<LatencyStats.Row> rows, final Duration elapsed,
+                               final Path workDir) throws IOException {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%nScenario %s, %d s, %d threads%n",
+                scenario.getName(), elapsed.toSeconds(), scenario.getInt("threads", 16)));
+        table.append(String.format(Locale.ROOT, "%-26s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "4xx", "5xx/io", "req/s", "p50 ms", "p99 ms", "max ms"));
+        for (LatencyStats.Row row : rows) {
+            table.append(String.format(Locale.ROOT, "%-26s %9d %7d %9d %9.1f %9.2f %9.2f %9.2f%n",
+                    row.getEndpoint(), row.getRequests(), row.getClientErrors(), row.getServerErrors(),
+                    row.getThroughput(), row.getP50Millis(), row.getP99Millis(), row.getMaxMillis()));
+        }
+        log.info(table.toString());
+
+        String endpoints = rows.stream()
+                .map(row -> String.format(Locale.ROOT, "    {\"endpoint\": \"%s\", \"requests\": %d, \"clientErrors\": %d, "
+                                + "\"serverErrors\": %d, \"throughput\": %.1f, \"p50Millis\": %.2f, \"p99Millis\": %.2f, "
+                                + "\"maxMillis\": %.2f}",
+                        row.getEndpoint(), row.getRequests(), row.getClientErrors(), row.getServerErrors(),
+                        row.getThroughput(), row.getP50Millis(), row.getP99Millis(), row.getMaxMillis()))
+                .collect(Collectors.joining(",\n"));
+        String json = String.format(Locale.ROOT, "{%n  \"scenario\": \"%s\",%n  \"seconds\": %.1f,%n  \"threads\": %d,%n"
+                        + "  \"endpoints\": [%n%s%n  ]%n}%n",
+                scenario.getName(), elapsed.toMillis() / 1000.0, scenario.getInt("threads", 16), endpoints);
+        Path file = workDir.resolve(scenario.getName() + ".json");
+        Files.writeString(file, json, StandardCharsets.UTF_8);
+        log.info("Report saved to {}", file);
+    }
+}
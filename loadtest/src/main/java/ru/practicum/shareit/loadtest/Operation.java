@@ -0,0 +1,103 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+/**
+ * Запросы к контроллерам gateway. Ключ задаёт вес операции в сценарии (mix.&lt;key&gt;),
+ * метка — строку отчёта.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Operation {
+    SEARCH("search", "GET /items/search") {
+        @Override
+        HttpRequest.Builder request(final Traffic traffic, final Random random) {
+            String text = URLEncoder.encode(traffic.getGenerator().searchText(random), StandardCharsets.UTF_8);
+            return get(traffic, "/items/search?text=" + text, traffic.getDataset().anyUser(random));
+        }
+    },
+    ITEM("item", "GET /items/{id}") {
+        @Override
+        HttpRequest.Builder request(final Traffic traffic, final Random random) {
+            Dataset dataset = traffic.getDataset();
+            long itemId = dataset.popularItem(random);
+            // каждый пятый просмотр — владельцем, с последним и следующим бронированием
+            long userId = random.nextInt(5) == 0 ? dataset.ownerOf(itemId) : dataset.anyUser(random);
+            return get(traffic, "/items/" + itemId, userId);
+        }
+    },
+    OWNER_ITEMS("owner-items", "GET /items") {
+        @Override
+        HttpRequest.Builder request(final Traffic traffic, final Random random) {
+            return get(traffic, "/items", traffic.getDataset().busyOwner(random));
+        }
+    },
+    OWNER_BOOKINGS("owner-bookings", "GET /bookings/owner") {
+        @Override
+        HttpRequest.Builder request(final Traffic traffic, final Random random) {
+            return get(traffic, "/bookings/owner?state=" + state(random), traffic.getDataset().busyOwner(random));
+        }
+    },
+    BOOKER_BOOKINGS("booker-bookings", "GET /bookings") {
+        @Override
+        HttpRequest.Builder request(final Traffic traffic, final Random random) {
+            return get(traffic, "/bookings?state=" + state(random), traffic.getDataset().anyUser(random));
+        }
+    },
+    REQUESTS("requests", "GET /requests/all") {
+        @Override
+        HttpRequest.Builder request(final Traffic traffic, final Random random) {
+            return get(traffic, "/requests/all", traffic.getDataset().anyUser(random));
+        }
+    },
+    CREATE_BOOKING("create-booking", "POST /bookings") {
+        @Override
+        HttpRequest.Builder request(final Traffic traffic, final Random random) {
+            Dataset dataset = traffic.getDataset();
+            return createBooking(traffic, dataset.popularAvailableItem(random), random);
+        }
+    };
+
+    private static final String[] STATES = {"ALL", "ALL", "ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    private final String key;
+    private final String label;
+
+    abstract HttpRequest.Builder request(Traffic traffic, Random random);
+
+    /**
+     * Бронирование вещи случайным не-владельцем на случайные даты в ближайшие годы:
+     * пересечения на популярных вещах отклоняются сервером, как и в реальных всплесках.
+     */
+    static HttpRequest.Builder createBooking(final Traffic traffic, final long itemId, final Random random) {
+        Dataset dataset = traffic.getDataset();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).plusHours(random.nextInt(24 * 3 * 365))
+                .truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime end = start.plusDays(1 + random.nextInt(3));
+        String body = String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}", itemId, start, end);
+        return HttpRequest.newBuilder(traffic.uri("/bookings"))
+                .header("X-Sharer-User-Id", String.valueOf(dataset.userOtherThan(dataset.ownerOf(itemId), random)))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private static HttpRequest.Builder get(final Traffic traffic, final String path, final long userId) {
+        URI uri = traffic.uri(path);
+        return HttpRequest.newBuilder(uri)
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .GET();
+    }
+
+    private static String state(final Random random) {
+        return STATES[random.nextInt(STATES.length)];
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Сценарий прогона из .properties: объём и перекос данных, длительность, число потоков, доли операций
+ * и всплески создания бронирований. Любой ключ переопределяется аргументом key=value.
+ */
+@Getter
+public class Scenario {
+    private final String name;
+    private final Properties properties;
+
+    private Scenario(final String name, final Properties properties) {
+        this.name = name;
+        this.properties = properties;
+    }
+
+    public static Scenario load(final Path file, final Map<String, String> overrides) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        properties.putAll(overrides);
+        String fileName = file.getFileName().toString();
+        return new Scenario(fileName.replaceFirst("\\.properties$", ""), properties);
+    }
+
+    public String get(final String key, final String defaultValue) {
+        return properties.getProperty(key, defaultValue).trim();
+    }
+
+    public int getInt(final String key, final int defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    public double getDouble(final String key, final double defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Double.parseDouble(value.trim());
+    }
+
+    /**
+     * Длительность в виде 500ms, 30s или 2m.
+     */
+    public Duration getDuration(final String key, final String defaultValue) {
+        String value = get(key, defaultValue);
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        switch (value.charAt(value.length() - 1)) {
+            case 's':
+                return Duration.ofSeconds(amount);
+            case 'm':
+                return Duration.ofMinutes(amount);
+            default:
+                throw new IllegalArgumentException("Unknown duration " + key + "=" + value);
+        }
+    }
+
+    /**
+     * Веса операций mix.*; операции без веса в сценарии не выполняются.
+     */
+    public Map<Operation, Integer> getMix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            int weight = getInt("mix." + operation.getKey(), 0);
+            if (weight > 0) {
+                mix.put(operation, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Scenario " + name + " has no mix.* weights");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сервер и gateway отдельными JVM из их исполняемых jar: у модулей общие имена пакетов и классов,
+ * в одном classpath они не уживаются. Вывод пишется в server.log и gateway.log рабочего каталога.
+ */
+@Slf4j
+public class ShareItProcesses implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final Scenario scenario;
+    private final Path workDir;
+    private final String datasourceUrl;
+    private final int serverPort;
+    private final int gatewayPort;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private Process server;
+    private Process gateway;
+
+    public ShareItProcesses(final Scenario scenario, final Path workDir, final String datasourceUrl) {
+        this.scenario = scenario;
+        this.workDir = workDir;
+        this.datasourceUrl = datasourceUrl;
+        this.serverPort = scenario.getInt("server.port", 19090);
+        this.gatewayPort = scenario.getInt("gateway.port", 18080);
+    }
+
+    public URI gatewayUri() {
+        return URI.create("http://localhost:" + gatewayPort);
+    }
+
+    public void startServer() throws IOException, InterruptedException {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=" + serverPort,
+                "--spring.datasource.url=" + datasourceUrl,
+                "--spring.datasource.username=" + scenario.get("datasource.username", "sa"),
+                "--spring.datasource.password=" + scenario.get("datasource.password", ""),
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"));
+        if (datasourceUrl.startsWith("jdbc:h2:")) {
+            args.add("--spring.datasource.driverClassName=org.h2.Driver");
+            args.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        }
+        server = start("server", scenario.get("server.jar", "../server/target/shareit-server-0.0.1-SNAPSHOT.jar"), args);
+        awaitHealthy("server", server, serverPort);
+    }
+
+    public void stopServer() throws InterruptedException {
+        stop(server);
+        server = null;
+    }
+
+    public void startGateway() throws IOException, InterruptedException {
+        List<String> args = List.of(
+                "--server.port=" + gatewayPort,
+                "--shareit-server.url=http://localhost:" + serverPort,
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN");
+        gateway = start("gateway", scenario.get("gateway.jar", "../gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar"), args);
+        awaitHealthy("gateway", gateway, gatewayPort);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        stop(gateway);
+        stop(server);
+    }
+
+    private Process start(final String name, final String jar, final List<String> appArgs) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(split(scenario.get(name + ".jvm-args", "-Xmx1g")));
+        command.add("-jar");
+        command.add(jar);
+        command.addAll(appArgs);
+        command.addAll(split(scenario.get(name + ".args", "")));
+        log.info("Starting {}: {}", name, String.join(" ", command));
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(workDir.resolve(name + ".log").toFile()))
+                .start();
+    }
+
+    private void awaitHealthy(final String name, final Process process, final int port) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with " + process.exitValue()
+                        + ", see " + workDir.resolve(name + ".log"));
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    log.info("{} is up on port {}", name, port);
+                    return;
+                }
+            } catch (IOException e) {
+                // ещё не слушает порт
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(name + " did not become healthy in " + STARTUP_TIMEOUT);
+    }
+
+    private static void stop(final Process process) throws InterruptedException {
+        if (process == null || !process.isAlive()) {
+            return;
+        }
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static List<String> split(final String args) {
+        return args.isBlank() ? List.of() : Arrays.asList(args.trim().split("\\s+"));
+    }
+}
@@ -0,0 +1,164 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Смешанный трафик через gateway: threads потоков без пауз выбирают операцию по весам mix.*,
+ * а раз в burst.every на несколько самых популярных вещей одновременно приходит burst.size бронирований.
+ */
+@Slf4j
+public class Traffic {
+    static final String BURST_LABEL = "POST /bookings (burst)";
+
+    @Getter
+    private final Dataset dataset;
+    @Getter
+    private final DataGenerator generator;
+    private final URI gateway;
+    private final HttpClient client;
+    private final Duration timeout;
+    private final int threads;
+    private final Duration burstEvery;
+    private final int burstSize;
+    private final int burstItems;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    // генераторы живут между прогревом и замером, чтобы замер не повторял запросы прогрева
+    private final Random[] workerRandoms;
+    private final Random burstRandom;
+
+    public Traffic(final Scenario scenario, final URI gateway, final Dataset dataset, final DataGenerator generator) {
+        this.dataset = dataset;
+        this.generator = generator;
+        this.gateway = gateway;
+        this.timeout = scenario.getDuration("request-timeout", "30s");
+        this.threads = scenario.getInt("threads", 16);
+        this.burstEvery = scenario.getDuration("burst.every", "10s");
+        this.burstSize = scenario.getInt("burst.size", 0);
+        this.burstItems = scenario.getInt("burst.items", 5);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        Map<Operation, Integer> mix = scenario.getMix();
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += mix.get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+        long seed = scenario.getInt("seed", 42);
+        this.workerRandoms = new Random[threads];
+        for (int i = 0; i < threads; i++) {
+            workerRandoms[i] = new Random(seed + i + 1);
+        }
+        this.burstRandom = new Random(seed - 1);
+    }
+
+    URI uri(final String path) {
+        return gateway.resolve(path);
+    }
+
+    /**
+     * Гоняет трафик duration и возвращает фактическое время прогона.
+     */
+    public Duration run(final Duration duration, final LatencyStats stats) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        ExecutorService burstWorkers = Executors.newFixedThreadPool(Math.max(1, Math.min(burstSize, 64)));
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        try {
+            if (burstSize > 0) {
+                scheduler.scheduleAtFixedRate(() -> burst(burstWorkers, burstRandom, stats),
+                        burstEvery.toMillis(), burstEvery.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Random random = workerRandoms[i];
+                futures.add(workers.submit(() -> {
+                    while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                        Operation operation = pick(random);
+                        send(operation.getLabel(), operation.request(this, random), stats);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load worker failed", e.getCause());
+        } finally {
+            scheduler.shutdownNow();
+            workers.shutdownNow();
+            burstWorkers.shutdown();
+            burstWorkers.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return Duration.ofNanos(System.nanoTime() - started);
+    }
+
+    private void burst(final ExecutorService burstWorkers, final Random random, final LatencyStats stats) {
+        log.info("Booking burst: {} requests on {} hottest items", burstSize, burstItems);
+        for (int i = 0; i < burstSize; i++) {
+            long itemId = hotItem(random.nextInt(burstItems));
+            Random requestRandom = new Random(random.nextLong());
+            burstWorkers.submit(() -> send(BURST_LABEL, Operation.createBooking(this, itemId, requestRandom), stats));
+        }
+    }
+
+    // вещи с наименьшими id — самые популярные в распределении Dataset
+    private long hotItem(final int rank) {
+        long itemId = 0;
+        int found = -1;
+        while (found < rank) {
+            itemId++;
+            if (dataset.isAvailable(itemId)) {
+                found++;
+            }
+        }
+        return itemId;
+    }
+
+    private Operation pick(final Random random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void send(final String label, final HttpRequest.Builder request, final LatencyStats stats) {
+        long started = System.nanoTime();
+        int status;
+        try {
+            status = client.send(request.timeout(timeout).build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        stats.record(label, System.nanoTime() - started, status);
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Выборка рангов 0..n-1 с вероятностью ~ 1 / (rank + 1)^skew: немногие вещи, владельцы и слова
+ * получают большую часть обращений. skew = 0 даёт равномерное распределение.
+ */
+public class Zipf {
+    private final double[] cumulative;
+
+    public Zipf(final int n, final double skew) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, skew);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    public int next(final Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * ETag на GET-ответы, которые кэширует gateway: по If-None-Match сервер отвечает 304 без тела.
+ */
+@Configuration
+public class EtagConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        // ответы на запись (в том числе потоковый bulk-импорт) не буферизуем
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter() {
+            @Override
+            protected boolean shouldNotFilter(final HttpServletRequest request) {
+                return !HttpMethod.GET.matches(request.getMethod());
+            }
+        };
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/items/*", "/requests/*");
+        return registration;
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Свой JCache CacheManager для L2-кэша каждой фабрики сессий. Менеджер по умолчанию один на JVM,
+ * и Hibernate закрывает его при остановке любого контекста, а данные разных баз в нём смешиваются.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager() {
+        return properties -> {
+            CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+            URI uri = URI.create("shareit-l2-" + UUID.randomUUID());
+            properties.put(ConfigSettings.CACHE_MANAGER, provider.getCacheManager(uri, getClass().getClassLoader()));
+        };
+    }
+}
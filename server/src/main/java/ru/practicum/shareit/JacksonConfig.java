@@ -0,0 +1,19 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Blackbird заменяет рефлексию в сериализаторах DTO на сгенерированные LambdaMetafactory аксессоры.
+ * Spring Boot регистрирует бин-модуль в общем ObjectMapper.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Фоновые задачи по расписанию (BookingPhaseSweeper). В тестах выключаются через shareit.scheduling.enabled=false:
+ * проходы между тестами попадали бы в общую статистику Hibernate, которую тесты проверяют точно.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "shareit.scheduling.enabled", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -16,9 +16,16 @@ import java.time.LocalDateTime;
 @Builder(toBuilder = true)
 @Entity
 @Table(name = "bookings")
+// связи ленивые, списки и карточка брони подгружают вещь, владельца и арендатора одним запросом
+@NamedEntityGraph(name = Booking.WITH_DETAILS,
+        attributeNodes = {@NamedAttributeNode(value = "item", subgraph = "item"), @NamedAttributeNode("booker")},
+        subgraphs = @NamedSubgraph(name = "item", attributeNodes = @NamedAttributeNode("owner")))
 public class Booking {
+    public static final String WITH_DETAILS = "Booking.withDetails";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long bookingId;
 
     @Column(name = "start_time")
@@ -30,12 +37,28 @@ public class Booking {
     @Enumerated(value = EnumType.STRING)
     private BookingStatus status;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id")
     private User booker;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
     private Item item;
 
+    // владелец вещи хранится и в брони: списки владельца берутся из индекса bookings без join по items
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Enumerated(value = EnumType.STRING)
+    private BookingPhase phase;
+
+    // фаза пересчитывается при каждой записи, чтобы не затереть продвинутую BookingPhaseSweeper устаревшей
+    @PrePersist
+    @PreUpdate
+    void classify() {
+        phase = BookingPhase.of(start, end, LocalDateTime.now());
+        if (ownerId == null && item != null) {
+            ownerId = item.getOwner().getId();
+        }
+    }
 }
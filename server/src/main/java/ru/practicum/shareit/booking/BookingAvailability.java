@@ -0,0 +1,210 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingPeriodDto;
+import ru.practicum.shareit.exceptions.NotAvailableException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Расписание активных (WAITING и APPROVED) бронирований по вещам.
+ * Интервалы одной вещи не пересекаются и лежат в TreeMap по началу, поэтому проверка пересечения —
+ * один поиск ближайшего интервала слева. Расписание вещи загружается из БД при первом обращении,
+ * а создание брони проходит под блокировкой вещи (lock striping), так что две пересекающиеся брони
+ * одновременно не сохранятся.
+ * <p>
+ * Внутри транзакции расписание следует за её исходом: занятый интервал освобождается, если транзакция
+ * не зафиксировалась, а освобождение применяется только после фиксации. Расписания лежат в ограниченном
+ * кэше, пустые и давно не запрошенные вытесняются и при следующем обращении читаются из БД заново.
+ * Вытеснение идёт мимо блокировок вещей, поэтому интервалы ещё не зафиксированных транзакций дублируются
+ * в pending и добавляются к расписанию, перечитанному из БД, где их пока нет.
+ */
+@Component
+public class BookingAvailability {
+    private static final int STRIPES = 64;
+
+    private final BookingRepository bookingRepository;
+
+    private final Cache<Long, NavigableMap<LocalDateTime, Slot>> schedules;
+    private final Map<Long, NavigableMap<LocalDateTime, Slot>> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = createLocks();
+
+    public BookingAvailability(final BookingRepository bookingRepository,
+                               @Value("${shareit.bookings.availability.max-items:100000}") final long maxItems,
+                               @Value("${shareit.bookings.availability.expire-after-access:PT1H}") final Duration expireAfterAccess) {
+        this.bookingRepository = bookingRepository;
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    public Booking reserve(final Long itemId, final LocalDateTime start, final LocalDateTime end,
+                           final Supplier<Booking> save) {
+        ReentrantLock lock = lockFor(itemId);
+        lock.lock();
+        try {
+            NavigableMap<LocalDateTime, Slot> schedule = schedule(itemId);
+            if (overlaps(schedule, start, end)) {
+                throw new NotAvailableException("Item is already booked for these dates");
+            }
+            Booking booking = save.get();
+            Slot slot = new Slot(booking.getBookingId(), booking.getEnd());
+            // расписание могло быть вытеснено после проверки: compute возвращает его в кэш вместе с интервалом
+            schedules.asMap().compute(itemId, (id, cached) -> {
+                NavigableMap<LocalDateTime, Slot> target = cached != null ? cached : schedule;
+                target.put(booking.getStart(), slot);
+                return target;
+            });
+            // интервал занят сразу, чтобы параллельные брони его видели, и возвращается при откате
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                pending.computeIfAbsent(itemId, id -> new TreeMap<>()).put(booking.getStart(), slot);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(final int status) {
+                        completed(itemId, booking.getStart(), booking.getBookingId(), status == STATUS_COMMITTED);
+                    }
+                });
+            }
+            return booking;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(final Booking booking) {
+        Long itemId = booking.getItem().getId();
+        LocalDateTime start = booking.getStart();
+        Long bookingId = booking.getBookingId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(itemId, start, bookingId);
+                }
+            });
+        } else {
+            remove(itemId, start, bookingId);
+        }
+    }
+
+    private void completed(final Long itemId, final LocalDateTime start, final Long bookingId, final boolean committed) {
+        ReentrantLock lock = lockFor(itemId);
+        lock.lock();
+        try {
+            pending.computeIfPresent(itemId, (id, slots) -> {
+                removeSlot(slots, start, bookingId);
+                return slots.isEmpty() ? null : slots;
+            });
+            if (!committed) {
+                remove(itemId, start, bookingId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(final Long itemId, final LocalDateTime start, final Long bookingId) {
+        ReentrantLock lock = lockFor(itemId);
+        lock.lock();
+        try {
+            NavigableMap<LocalDateTime, Slot> schedule = schedules.getIfPresent(itemId);
+            if (schedule == null) {
+                return;
+            }
+            removeSlot(schedule, start, bookingId);
+            if (schedule.isEmpty()) {
+                schedules.invalidate(itemId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void removeSlot(final NavigableMap<LocalDateTime, Slot> slots, final LocalDateTime start,
+                                   final Long bookingId) {
+        Slot slot = slots.get(start);
+        if (slot != null && Objects.equals(slot.bookingId, bookingId)) {
+            slots.remove(start);
+        }
+    }
+
+    public List<BookingPeriodDto> getBookings(final Long itemId, final LocalDateTime from, final LocalDateTime to) {
+        ReentrantLock lock = lockFor(itemId);
+        lock.lock();
+        try {
+            NavigableMap<LocalDateTime, Slot> schedule = schedule(itemId);
+            List<BookingPeriodDto> periods = new ArrayList<>();
+            Map.Entry<LocalDateTime, Slot> before = schedule.lowerEntry(from);
+            if (before != null && before.getValue().end.isAfter(from)) {
+                periods.add(new BookingPeriodDto(before.getKey(), before.getValue().end));
+            }
+            schedule.subMap(from, true, to, false)
+                    .forEach((start, slot) -> periods.add(new BookingPeriodDto(start, slot.end)));
+            return periods;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean overlaps(final NavigableMap<LocalDateTime, Slot> schedule,
+                                    final LocalDateTime start, final LocalDateTime end) {
+        Map.Entry<LocalDateTime, Slot> nearest = schedule.lowerEntry(end);
+        return nearest != null && nearest.getValue().end.isAfter(start);
+    }
+
+    private NavigableMap<LocalDateTime, Slot> schedule(final Long itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        NavigableMap<LocalDateTime, Slot> schedule = schedules.get(itemId, id -> {
+            NavigableMap<LocalDateTime, Slot> loaded = new TreeMap<>();
+            bookingRepository.findActiveBookings(id, List.of(BookingStatus.WAITING, BookingStatus.APPROVED), now)
+                    .forEach(booking -> loaded.put(booking.getStart(), new Slot(booking.getId(), booking.getEnd())));
+            NavigableMap<LocalDateTime, Slot> uncommitted = pending.get(id);
+            if (uncommitted != null) {
+                loaded.putAll(uncommitted);
+            }
+            return loaded;
+        });
+        while (!schedule.isEmpty() && !schedule.firstEntry().getValue().end.isAfter(now)) {
+            schedule.pollFirstEntry();
+        }
+        return schedule;
+    }
+
+    private ReentrantLock lockFor(final Long itemId) {
+        return locks[Math.floorMod(itemId.hashCode(), STRIPES)];
+    }
+
+    private static ReentrantLock[] createLocks() {
+        ReentrantLock[] locks = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    private static class Slot {
+        private final Long bookingId;
+        private final LocalDateTime end;
+
+        Slot(final Long bookingId, final LocalDateTime end) {
+            this.bookingId = bookingId;
+            this.end = end;
+        }
+    }
+}
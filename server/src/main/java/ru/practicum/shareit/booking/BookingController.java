@@ -1,9 +1,11 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 
 import java.util.List;
 
@@ -12,6 +14,8 @@ import java.util.List;
 @RequiredArgsConstructor
 
 public class BookingController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
 
     @RequestMapping(method = RequestMethod.POST)
@@ -35,21 +39,37 @@ public class BookingController {
     }
 
     @GetMapping()
-    public List<BookingDto> getAllForBooker(@RequestParam(name = "state", defaultValue = "ALL") final String state,
+    public ResponseEntity<List<BookingDto>> getAllForBooker(@RequestParam(name = "state", defaultValue = "ALL") final String state,
                                             @RequestHeader("X-Sharer-User-Id") final Long bookerId,
                                             @RequestParam(defaultValue = "0") final Integer from,
-                                            @RequestParam(defaultValue = "10") final Integer size) {
+                                            @RequestParam(defaultValue = "10") final Integer size,
+                                            @RequestParam(required = false) final String cursor) {
         final Boolean isOwner = false;
-        return bookingService.getAll(bookerId, state, isOwner, from, size);
+        if (cursor != null) {
+            return toResponse(bookingService.getPage(bookerId, state, isOwner, cursor, size));
+        }
+        return ResponseEntity.ok(bookingService.getAll(bookerId, state, isOwner, from, size));
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getAllForOwner(@RequestParam(name = "state", defaultValue = "ALL") final String state,
+    public ResponseEntity<List<BookingDto>> getAllForOwner(@RequestParam(name = "state", defaultValue = "ALL") final String state,
                                            @RequestHeader("X-Sharer-User-Id") final Long ownerId,
                                            @RequestParam(defaultValue = "0") final Integer from,
-                                           @RequestParam(defaultValue = "10") final Integer size) {
+                                           @RequestParam(defaultValue = "10") final Integer size,
+                                           @RequestParam(required = false) final String cursor) {
         final Boolean isOwner = true;
-        return bookingService.getAll(ownerId, state, isOwner, from, size);
+        if (cursor != null) {
+            return toResponse(bookingService.getPage(ownerId, state, isOwner, cursor, size));
+        }
+        return ResponseEntity.ok(bookingService.getAll(ownerId, state, isOwner, from, size));
+    }
+
+    private static ResponseEntity<List<BookingDto>> toResponse(final BookingPageDto page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getBookings());
     }
 
 }
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Непрозрачный курсор для keyset-пагинации: позиция последнего отданного бронирования (start, bookingId).
+ */
+@Value
+public class BookingCursor {
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime start;
+    Long bookingId;
+
+    public static BookingCursor of(final BookingDto booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public String encode() {
+        String raw = start + SEPARATOR + bookingId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BookingCursor decode(final String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new BookingCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.util.List;
+
+public interface BookingKeysetRepository {
+
+    /**
+     * Страница бронирований пользователя в порядке (start desc, bookingId desc), начиная сразу после курсора.
+     * Без OFFSET и без count-запроса: глубина страницы не влияет на стоимость.
+     */
+    List<BookingDto> findAfterCursor(Long userId, Boolean isOwner, State state, BookingCursor cursor, int limit);
+
+    /**
+     * Страница бронирований пользователя в том же порядке по смещению, без count-запроса.
+     */
+    List<BookingDto> findPage(Long userId, Boolean isOwner, State state, int offset, int limit);
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+
+// списки отдаются проекцией в BookingDto: только нужные колонки, без сущностей в контексте персистентности.
+// Любое состояние — равенство по (owner_id | booker_id, phase | status) и сортировка по составному индексу из V4
+class BookingKeysetRepositoryImpl implements BookingKeysetRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingDto> findAfterCursor(final Long userId, final Boolean isOwner, final State state,
+                                            final BookingCursor cursor, final int limit) {
+        return query(userId, isOwner, state, cursor)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<BookingDto> findPage(final Long userId, final Boolean isOwner, final State state,
+                                     final int offset, final int limit) {
+        return query(userId, isOwner, state, null)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private TypedQuery<BookingDto> query(final Long userId, final Boolean isOwner, final State state,
+                                         final BookingCursor cursor) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingDto> query = cb.createQuery(BookingDto.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
+        Join<Booking, User> booker = booking.join("booker");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (isOwner) {
+            predicates.add(cb.equal(booking.get("ownerId"), userId));
+        } else {
+            predicates.add(cb.equal(booker.<Long>get("id"), userId));
+        }
+        switch (state) {
+            case CURRENT:
+                predicates.add(cb.equal(booking.get("phase"), BookingPhase.CURRENT));
+                break;
+            case PAST:
+                predicates.add(cb.equal(booking.get("phase"), BookingPhase.PAST));
+                break;
+            case FUTURE:
+                predicates.add(cb.equal(booking.get("phase"), BookingPhase.FUTURE));
+                break;
+            case WAITING:
+                predicates.add(cb.equal(booking.get("status"), BookingStatus.WAITING));
+                break;
+            case REJECTED:
+                predicates.add(cb.equal(booking.get("status"), BookingStatus.REJECTED));
+                break;
+            default:
+                break;
+        }
+        if (cursor != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(booking.get("start"), cursor.getStart()),
+                    cb.and(cb.equal(booking.get("start"), cursor.getStart()),
+                            cb.lessThan(booking.get("bookingId"), cursor.getBookingId()))));
+        }
+        query.select(cb.construct(BookingDto.class,
+                        booking.get("bookingId"), booking.get("start"), booking.get("end"), booking.get("status"),
+                        item.get("id"), item.get("name"), booker.get("id"), booker.get("name")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(booking.get("start")), cb.desc(booking.get("bookingId")));
+        return entityManager.createQuery(query);
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Положение брони во времени, хранится в bookings.phase: при записи считается по start/end,
+ * дальше его продвигает {@link BookingPhaseSweeper}. Списки CURRENT/PAST/FUTURE фильтруют по нему равенством.
+ */
+public enum BookingPhase {
+    FUTURE,
+    CURRENT,
+    PAST;
+
+    public static BookingPhase of(final LocalDateTime start, final LocalDateTime end, final LocalDateTime now) {
+        if (end != null && !end.isAfter(now)) {
+            return PAST;
+        }
+        if (start != null && start.isAfter(now)) {
+            return FUTURE;
+        }
+        return CURRENT;
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+
+/**
+ * Продвигает bookings.phase на границах броней: раз в shareit.bookings.phase-sweep-interval переводит
+ * начавшиеся брони в CURRENT, а закончившиеся — в PAST. Выборки идут диапазоном по индексам
+ * (phase, start_time) и (phase, end_time), поэтому проход трогает только брони, чья граница наступила.
+ * Между проходами фаза может отставать от часов не больше чем на интервал.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingPhaseSweeper {
+    private static final String DUE_TO_START = "select b.bookingId from Booking b "
+            + "where b.phase = ru.practicum.shareit.booking.BookingPhase.FUTURE and b.start <= ?1";
+    private static final String DUE_TO_END = "select b.bookingId from Booking b "
+            + "where b.phase in (ru.practicum.shareit.booking.BookingPhase.FUTURE, "
+            + "ru.practicum.shareit.booking.BookingPhase.CURRENT) and b.end <= ?1";
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Scheduled(fixedDelayString = "${shareit.bookings.phase-sweep-interval:PT1S}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        // проверка идёт без транзакции: в простое проход — один короткий select, а не транзакция с журналом раз в секунду
+        if (!isDue(DUE_TO_END, now) && !isDue(DUE_TO_START, now)) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> advance(now));
+    }
+
+    private boolean isDue(final String query, final LocalDateTime now) {
+        return !entityManager.createQuery(query, Long.class)
+                .setParameter(1, now)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    private void advance(final LocalDateTime now) {
+        int ended = bookingRepository.advanceEnded(BookingPhase.CURRENT, now)
+                + bookingRepository.advanceEnded(BookingPhase.FUTURE, now);
+        int started = bookingRepository.advanceStarted(now);
+        log.debug("Booking phases advanced: {} started, {} ended", started, ended);
+    }
+}
@@ -1,37 +1,46 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingKeysetRepository {
 
-    List<Booking> findByItemId(Long itemId, Sort sort);
+    @EntityGraph(Booking.WITH_DETAILS)
+    @Override
+    Optional<Booking> findById(Long bookingId);
 
-    Page<Booking> findAllByBookerId(Long bookerId, Pageable page);
+    @Query("select new ru.practicum.shareit.booking.dto.BookingItemDto(b.bookingId, b.item.id, b.booker.id, b.start, b.end) "
+            + "from Booking b where b.item.id in ?1 and b.start < ?2 "
+            + "and b.end = (select max(l.end) from Booking l where l.item.id = b.item.id and l.start < ?2)")
+    List<BookingItemDto> findLastBookings(Collection<Long> itemIds, LocalDateTime now);
 
-    Page<Booking> findAllByBookerIdAndStatus(Long bookerId, BookingStatus status, Pageable page);
+    @Query("select new ru.practicum.shareit.booking.dto.BookingItemDto(b.bookingId, b.item.id, b.booker.id, b.start, b.end) "
+            + "from Booking b where b.item.id in ?1 and b.start > ?2 and b.status <> ?3 "
+            + "and b.start = (select min(n.start) from Booking n where n.item.id = b.item.id and n.start > ?2 and n.status <> ?3)")
+    List<BookingItemDto> findNextBookings(Collection<Long> itemIds, LocalDateTime now, BookingStatus excludedStatus);
 
-    Page<Booking> findAllByBookerIdAndEndBefore(Long bookerId, LocalDateTime dateTime, Pageable page);
-
-    Page<Booking> findAllByBookerIdAndStartAfter(Long bookerId, LocalDateTime dateTime, Pageable page);
-
-    Page<Booking> findAllByBookerIdAndStartBeforeAndEndAfter(Long bookerId, LocalDateTime dateTime, LocalDateTime dateTime1, Pageable page);
+    @Query("select new ru.practicum.shareit.booking.dto.BookingItemDto(b.bookingId, b.item.id, b.booker.id, b.start, b.end) "
+            + "from Booking b where b.item.id = ?1 and b.status in ?2 and b.end > ?3")
+    List<BookingItemDto> findActiveBookings(Long itemId, Collection<BookingStatus> statuses, LocalDateTime now);
 
     Boolean existsByBookerIdAndEndBeforeAndStatus(Long bookerId, LocalDateTime localDateTime, BookingStatus status);
 
+    // переходы фаз для BookingPhaseSweeper
+    @Modifying
+    @Query("update Booking b set b.phase = ru.practicum.shareit.booking.BookingPhase.PAST "
+            + "where b.phase = ?1 and b.end <= ?2")
+    int advanceEnded(BookingPhase phase, LocalDateTime now);
 
-    Page<Booking> findAllByItemOwnerId(Long ownerId, Pageable sort);
-
-    Page<Booking> findAllByItemOwnerIdAndStatus(Long bookerId, BookingStatus status, Pageable page);
-
-    Page<Booking> findAllByItemOwnerIdAndEndBefore(Long bookerId, LocalDateTime dateTime, Pageable page);
-
-    Page<Booking> findAllByItemOwnerIdAndStartAfter(Long bookerId, LocalDateTime dateTime, Pageable page);
-
-    Page<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfter(Long bookerId, LocalDateTime dateTime, LocalDateTime dateTime1, Pageable page);
+    @Modifying
+    @Query("update Booking b set b.phase = ru.practicum.shareit.booking.BookingPhase.CURRENT "
+            + "where b.phase = ru.practicum.shareit.booking.BookingPhase.FUTURE and b.start <= ?1")
+    int advanceStarted(LocalDateTime now);
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 
 import java.util.List;
 
@@ -14,4 +15,6 @@ public interface BookingService {
     BookingDto get(Long bookingId, Long userId);
 
     List<BookingDto> getAll(Long userId, String state, Boolean isOwner, Integer from, Integer size);
+
+    BookingPageDto getPage(Long userId, String state, Boolean isOwner, String cursor, Integer size);
 }
@@ -1,38 +1,40 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.exceptions.NotAvailableException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.StateNotSupportException;
 import ru.practicum.shareit.item.ItemRepositoryDb;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserIdRegistry;
 import ru.practicum.shareit.user.UserRepositoryDb;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
+@Timed("shareit.service")
 public class BookingServiceImpl implements BookingService {
     private final BookingMapper mapper;
     private final BookingRepository bookingRepository;
     private final ItemRepositoryDb itemRepository;
     private final UserRepositoryDb userRepository;
+    private final UserIdRegistry userIdRegistry;
+    private final BookingAvailability availability;
 
     @Override
     public BookingDto create(final BookingCreationDto bookingCreationDto, final Long bookerId) {
         Booking booking = mapper.toBooking(bookingCreationDto);
         checkDateTime(booking.getStart(), booking.getEnd());
-        Item item = itemRepository.findById(bookingCreationDto.getItemId()).orElseThrow(() -> {
+        Item item = itemRepository.findWithOwnerById(bookingCreationDto.getItemId()).orElseThrow(() -> {
             throw new NotFoundException(String.format("Item with id = %d is not found", bookingCreationDto.getItemId()));
         });
         User owner = item.getOwner();
@@ -50,7 +52,8 @@ public class BookingServiceImpl implements BookingService {
         booking.setItem(item);
         booking.setStatus(BookingStatus.WAITING);
 
-        return mapper.toBookingDto(bookingRepository.save(booking));
+        return mapper.toBookingDto(availability.reserve(item.getId(), booking.getStart(), booking.getEnd(),
+                () -> bookingRepository.save(booking)));
     }
 
     private static void checkDateTime(final LocalDateTime start, final LocalDateTime end) {
@@ -59,6 +62,8 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    // бронь с вещью и арендатором остаётся в одной сессии до маппинга ответа, save её не копирует
+    @Transactional
     @Override
     public BookingDto updateStatus(final Long bookingId, final Long userId, final Boolean approved) {
         Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> {
@@ -70,17 +75,26 @@ public class BookingServiceImpl implements BookingService {
         if (booking.getStatus().equals(BookingStatus.APPROVED)) {
             throw new NotAvailableException("You've already approved");
         }
-        if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
-        } else {
+        if (!approved) {
             booking.setStatus(BookingStatus.REJECTED);
+            Booking rejected = bookingRepository.save(booking);
+            availability.release(rejected);
+            return mapper.toBookingDto(rejected);
         }
+        if (booking.getStatus().equals(BookingStatus.REJECTED)) {
+            //отклонённая бронь уже не держит даты, поэтому проверяем их заново
+            booking.setStatus(BookingStatus.APPROVED);
+            return mapper.toBookingDto(availability.reserve(booking.getItem().getId(), booking.getStart(), booking.getEnd(),
+                    () -> bookingRepository.save(booking)));
+        }
+        booking.setStatus(BookingStatus.APPROVED);
         return mapper.toBookingDto(bookingRepository.save(booking));
     }
 
+    @Transactional(readOnly = true)
     @Override
     public BookingDto get(final Long bookingId, final Long userId) {
-        if (userRepository.existsById(userId)) {
+        if (userIdRegistry.contains(userId)) {
             try {
                 return mapper.toBookingDto(bookingRepository.findById(bookingId).filter((booking) -> {
                     if (booking.getBooker().getId().equals(userId) || booking.getItem().getOwner().getId().equals(userId)) {
@@ -99,59 +113,33 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<BookingDto> getAll(final Long userId, final String state, final Boolean isOwner, final Integer from, final Integer size) {
-        if (!userRepository.existsById(userId)) {
+        if (!userIdRegistry.contains(userId)) {
             throw new NotFoundException("User not found " + userId);
         }
-        Page<Booking> bookings = null; //TODO: возможно убрать инициализацию
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
-        Pageable pages = PageRequest.of(from == 0 ? 0 : from / size, size, sort);
-        LocalDateTime now = LocalDateTime.now();
-        if (isOwner) {
-            switch (convertToEnum(state)) {
-                case ALL:
-                    bookings = bookingRepository.findAllByItemOwnerId(userId, pages);
-                    break;
-                case CURRENT:
-                    bookings = bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfter(userId, now, now, pages);
-                    break;
-                case PAST:
-                    bookings = bookingRepository.findAllByItemOwnerIdAndEndBefore(userId, now, pages);
-                    break;
-                case FUTURE:
-                    bookings = bookingRepository.findAllByItemOwnerIdAndStartAfter(userId, now, pages);
-                    break;
-                case WAITING:
-                    bookings = bookingRepository.findAllByItemOwnerIdAndStatus(userId, BookingStatus.WAITING, pages);
-                    break;
-                case REJECTED:
-                    bookings = bookingRepository.findAllByItemOwnerIdAndStatus(userId, BookingStatus.REJECTED, pages);
-                    break;
-            }
-        } else {
-            switch (convertToEnum(state)) {
-            case ALL:
-                bookings = bookingRepository.findAllByBookerId(userId, pages);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfter(userId, now, now, pages);
-                break;
-            case PAST:
-                bookings = bookingRepository.findAllByBookerIdAndEndBefore(userId, now, pages);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findAllByBookerIdAndStartAfter(userId, now, pages);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllByBookerIdAndStatus(userId, BookingStatus.WAITING, pages);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllByBookerIdAndStatus(userId, BookingStatus.REJECTED, pages);
-                break;
-            }
+        State bookingState = convertToEnum(state);
+        int offset = (from == 0 ? 0 : from / size) * size;
+        return bookingRepository.findPage(userId, isOwner, bookingState, offset, size);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BookingPageDto getPage(final Long userId, final String state, final Boolean isOwner, final String cursor, final Integer size) {
+        if (!userIdRegistry.contains(userId)) {
+            throw new NotFoundException("User not found " + userId);
+        }
+        BookingCursor after = cursor == null || cursor.isBlank() ? null : BookingCursor.decode(cursor);
+        // берём на одну запись больше, чтобы понять, есть ли следующая страница
+        List<BookingDto> bookings = bookingRepository.findAfterCursor(userId, isOwner, convertToEnum(state),
+                after, size + 1);
+        String nextCursor = null;
+        if (bookings.size() > size) {
+            bookings = bookings.subList(0, size);
+            nextCursor = BookingCursor.of(bookings.get(size - 1)).encode();
         }
-        return bookings.stream().map(mapper::toBookingDto).collect(Collectors.toList());
+        return new BookingPageDto(bookings, nextCursor);
     }
 
     private static State convertToEnum(final String state) {
@@ -5,8 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.BookingStatus;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.user.dto.UserShortDto;
 
 import java.time.LocalDateTime;
 
@@ -23,7 +23,18 @@ public class BookingDto {
 
     private BookingStatus status;
 
-    private Item item;
+    private ItemShortDto item;
 
-    private User booker;
+    private UserShortDto booker;
+
+    // для select new в списках: вещь и арендатор собираются из колонок, без загрузки сущностей
+    public BookingDto(final Long id, final LocalDateTime start, final LocalDateTime end, final BookingStatus status,
+                      final Long itemId, final String itemName, final Long bookerId, final String bookerName) {
+        this.id = id;
+        this.start = start;
+        this.end = end;
+        this.status = status;
+        this.item = new ItemShortDto(itemId, itemName);
+        this.booker = new UserShortDto(bookerId, bookerName);
+    }
 }
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BookingPageDto {
+    private List<BookingDto> bookings;
+
+    // null, если страница последняя
+    private String nextCursor;
+}
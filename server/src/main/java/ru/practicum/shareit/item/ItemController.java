@@ -1,11 +1,20 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.bulk.ItemBulkImporter;
+import ru.practicum.shareit.item.bulk.ItemRowReader;
 import ru.practicum.shareit.item.comments.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemCreationDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -14,6 +23,7 @@ import java.util.List;
 
 public class ItemController {
     private final ItemService itemService;
+    private final ItemBulkImporter bulkImporter;
 
     @GetMapping("/{itemId}")
     public ItemDto getItem(@PathVariable final Long itemId,
@@ -42,6 +52,16 @@ public class ItemController {
         return itemService.create(itemCreationDto);
     }
 
+    @PostMapping(path = "/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    public void createItems(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                            final HttpServletRequest request,
+                            final HttpServletResponse response) throws IOException {
+        ItemRowReader rows = bulkImporter.open(userId, MediaType.parseMediaType(request.getContentType()),
+                request.getInputStream());
+        response.setContentType(ItemBulkImporter.NDJSON.toString());
+        bulkImporter.importItems(userId, rows, response.getOutputStream());
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@PathVariable("itemId") final Long itemId,
                               @RequestBody final ItemCreationDto itemCreationDto,
@@ -50,6 +70,13 @@ public class ItemController {
         return itemService.update(itemCreationDto, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable final Long itemId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime to) {
+        return itemService.getAvailability(itemId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto addComment(@RequestHeader("X-Sharer-User-Id") final Long id,
                                  @PathVariable final Long itemId,
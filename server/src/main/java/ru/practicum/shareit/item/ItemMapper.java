@@ -5,6 +5,7 @@ import ru.practicum.shareit.item.dto.ItemCreationDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.dto.UserShortDto;
 import ru.practicum.shareit.user.model.User;
 
 @Component
@@ -14,7 +15,7 @@ public class ItemMapper {
         return ItemDto.builder()
                 .id(item.getId())
                 .name(item.getName())
-                .owner(item.getOwner())
+                .owner(new UserShortDto(item.getOwner().getId(), item.getOwner().getName()))
                 .description(item.getDescription())
                 .available(item.getAvailable())
                 .requestId(item.getRequest() != null ? item.getRequest().getRequestId() : null)
@@ -2,18 +2,46 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchView;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepositoryDb extends JpaRepository<Item, Long> {
+    String ITEM_DTO = "select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, "
+            + "o.id, o.name, i.request.requestId) from Item i join i.owner o ";
+
+    // findById отвечает из L2-кэша, но владельца там оставляет ленивым; бронированию он нужен сразу
+    @EntityGraph(attributePaths = "owner")
+    Optional<Item> findWithOwnerById(Long itemId);
+
     Page<Item> findAllByOwnerId(Long userId, Pageable page);
 
     @Query("select i from Item i where (lower(i.name) like lower(concat('%', ?1, '%')) "
             + "or lower(i.description) like lower(concat('%', ?1, '%'))) and i.available=true")
     Page<Item> searchByText(String text, Pageable pages);
 
+    @Query("select i.id from Item i where (lower(i.name) like lower(concat('%', ?1, '%')) "
+            + "or lower(i.description) like lower(concat('%', ?1, '%'))) and i.available=true")
+    List<Long> searchIdsByText(String text);
+
     List<Item> findAllByRequestRequestId(Long requestId);
+
+    @Query("select new ru.practicum.shareit.item.ItemForRequest(i.id, i.name, i.description, i.available, i.request.requestId) "
+            + "from Item i where i.request.requestId in ?1")
+    List<ItemForRequest> findAllByRequestRequestIdIn(Collection<Long> requestIds);
+
+    @Query(ITEM_DTO + "where o.id = ?1 order by i.id")
+    List<ItemDto> findDtosByOwnerId(Long ownerId, Pageable page);
+
+    @Query(ITEM_DTO + "where i.id in ?1")
+    List<ItemDto> findDtosByIdIn(Collection<Long> ids);
+
+    List<ItemSearchView> findAllByAvailableTrue();
 }
@@ -1,9 +1,11 @@
 package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.comments.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemCreationDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -19,4 +21,6 @@ public interface ItemService {
     List<ItemDto> search(String text, Integer from, Integer size);
 
     CommentDto addComment(Long userId, Long itemId, CommentDto commentDto);
+
+    ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
 }
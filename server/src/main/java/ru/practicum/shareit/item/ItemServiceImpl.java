@@ -1,9 +1,9 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.*;
@@ -15,9 +15,11 @@ import ru.practicum.shareit.item.comments.Comment;
 import ru.practicum.shareit.item.comments.CommentDto;
 import ru.practicum.shareit.item.comments.CommentMapper;
 import ru.practicum.shareit.item.comments.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemCreationDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.UserRepositoryDb;
@@ -27,22 +29,29 @@ import ru.practicum.shareit.user.model.User;
 import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("shareit.service")
 public class ItemServiceImpl implements ItemService {
     private final ItemMapper mapper;
     private final CommentMapper commentMapper;
-    private final BookingMapper bookingMapper;
     private final UserService userService;
     private final ItemRepositoryDb itemRepository;
     private final UserRepositoryDb userRepository;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex searchIndex;
+    private final BookingAvailability bookingAvailability;
 
+    @Transactional(readOnly = true)
     @Override
     public ItemDto get(final Long itemId, final Long userId) {
         ItemDto itemDto = mapper.toItemDto(itemRepository.findById(itemId).orElseThrow(() -> {
@@ -61,48 +70,65 @@ public class ItemServiceImpl implements ItemService {
 
     private ItemDto setBookings(final ItemDto itemDto, final Long userId) {
         if (itemDto.getOwner().getId().equals(userId)) {
-            var bookings = bookingRepository.findByItemId(itemDto.getId(), Sort.by(Sort.Direction.DESC, "start"));
-
-            itemDto.setLastBooking(bookings.stream()
-                    .filter((booking) -> booking.getStart().isBefore(LocalDateTime.now()))
-                    .max(Comparator.comparing(Booking::getEnd))
-                    .map(bookingMapper::toItemBookingDto)
-                    .orElse(null)
-            );
-
-            itemDto.setNextBooking(bookings.stream()
-                    .filter(booking -> !booking.getStatus().equals(BookingStatus.REJECTED) && booking.getStart().isAfter(LocalDateTime.now()))
-                    .map(bookingMapper::toItemBookingDto)
-                    //либо max
-                    .min(Comparator.comparing(BookingItemDto::getStart))
-                    .orElse(null));
-            return itemDto;
+            setBookings(List.of(itemDto));
         }
         return itemDto;
     }
 
+    private void setBookings(final List<ItemDto> items) {
+        var itemIds = items.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        var lastBookings = groupByItem(bookingRepository.findLastBookings(itemIds, now));
+        var nextBookings = groupByItem(bookingRepository.findNextBookings(itemIds, now, BookingStatus.REJECTED));
+        items.forEach((itemDto) -> {
+            itemDto.setLastBooking(lastBookings.get(itemDto.getId()));
+            itemDto.setNextBooking(nextBookings.get(itemDto.getId()));
+        });
+    }
+
+    private static Map<Long, BookingItemDto> groupByItem(final List<BookingItemDto> bookings) {
+        //при совпадении времени у двух бронирований берём более раннее
+        return bookings.stream()
+                .collect(Collectors.toMap(BookingItemDto::getItemId, Function.identity(),
+                        BinaryOperator.minBy(Comparator.comparingLong(BookingItemDto::getId))));
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public List<ItemDto> getAll(final Long userId, final Integer from, final Integer size) {
         Pageable pages = PageRequest.of(from == 0 ? 0 : from / size, size);
-        var items = itemRepository.findAllByOwnerId(userId, pages).stream()
-                .sorted(Comparator.comparingLong(Item::getId))
-                .map(mapper::toItemDto)
+        var items = itemRepository.findDtosByOwnerId(userId, pages);
+        if (items.isEmpty()) {
+            return items;
+        }
+        var itemIds = items.stream()
+                .map(ItemDto::getId)
                 .collect(Collectors.toList());
-        items.forEach((itemDto) -> {
-            itemDto.setComments(getComments(itemDto.getId()));
-            setBookings(itemDto, userId);
-        });
+        Map<Long, List<CommentDto>> comments = commentRepository.findByItemIdIn(itemIds).stream()
+                .map(commentMapper::toCommentDto)
+                .collect(Collectors.groupingBy(CommentDto::getItemId));
+        items.forEach((itemDto) -> itemDto.setComments(comments.getOrDefault(itemDto.getId(), List.of())));
+        setBookings(items);
         return items;
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<ItemDto> search(final String text, final Integer from, final Integer size) {
         if (text.isBlank() || text.isEmpty()) {
             return List.of();
         }
-        Pageable pages = PageRequest.of(from == 0 ? 0 : from / size, size);
-        return itemRepository.searchByText(text, pages).stream()
-                .map(mapper::toItemDto)
+        List<Long> ids = searchIndex.search(text, from, size);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ItemDto> items = itemRepository.findDtosByIdIn(ids).stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
@@ -121,6 +147,25 @@ public class ItemServiceImpl implements ItemService {
         return commentMapper.toCommentDto(commentRepository.save(comment));
     }
 
+    @Override
+    public ItemAvailabilityDto getAvailability(final Long itemId, final LocalDateTime from, final LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Incorrect date");
+        }
+        Item item = itemRepository.findById(itemId).orElseThrow(() -> {
+            throw new NotFoundException(String.format("Item with item id = %d not found", itemId));
+        });
+        var bookings = bookingAvailability.getBookings(itemId, from, to);
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .available(item.getAvailable() && bookings.isEmpty())
+                .bookings(bookings)
+                .build();
+    }
+
+    @Transactional
     @Override
     public ItemDto create(final ItemCreationDto itemCreationDto) {
         Item item = mapper.toItem(itemCreationDto);
@@ -133,9 +178,12 @@ public class ItemServiceImpl implements ItemService {
             item.setRequest(itemRequest);
         }
         item.setOwner(owner);
-        return mapper.toItemDto(itemRepository.save(item));
+        Item saved = itemRepository.save(item);
+        searchIndex.index(saved);
+        return mapper.toItemDto(saved);
     }
 
+    @Transactional
     @Override
     public ItemDto update(final ItemCreationDto itemCreationDto, final Long itemId) {
         userService.get(itemCreationDto.getUserId());
@@ -157,7 +205,9 @@ public class ItemServiceImpl implements ItemService {
             if (itemInfo.getDescription() != null) {
                 oldItem.setDescription(itemInfo.getDescription());
             }
-            return mapper.toItemDto(itemRepository.save(oldItem));
+            Item saved = itemRepository.save(oldItem);
+            searchIndex.index(saved);
+            return mapper.toItemDto(saved);
         } else {
             throw new NotFoundException(String.format("Item with item id = %s not found", itemId));
         }
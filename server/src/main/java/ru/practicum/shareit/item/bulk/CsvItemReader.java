@@ -0,0 +1,108 @@
+package ru.practicum.shareit.item.bulk;
+
+import ru.practicum.shareit.item.dto.ItemCreationDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Построчный CSV: первая строка - заголовок (name, description, available, requestId в любом порядке),
+ * одна запись на строку, поля можно брать в двойные кавычки.
+ */
+class CsvItemReader implements ItemRowReader {
+    private final BufferedReader reader;
+    private final int name;
+    private final int description;
+    private final int available;
+    private final int requestId;
+
+    CsvItemReader(final BufferedReader reader) throws IOException {
+        this.reader = reader;
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV header is missing");
+        }
+        List<String> columns = new ArrayList<>();
+        for (String column : split(header)) {
+            columns.add(column.trim().toLowerCase(Locale.ROOT));
+        }
+        name = required(columns, "name");
+        description = required(columns, "description");
+        available = required(columns, "available");
+        requestId = columns.indexOf("requestid");
+    }
+
+    @Override
+    public String nextLine() throws IOException {
+        return reader.readLine();
+    }
+
+    @Override
+    public ItemCreationDto parse(final String line) {
+        List<String> fields = split(line);
+        String availableValue = field(fields, available);
+        if (availableValue != null && !"true".equalsIgnoreCase(availableValue) && !"false".equalsIgnoreCase(availableValue)) {
+            throw new IllegalArgumentException("available must be true or false");
+        }
+        String requestIdValue = field(fields, requestId);
+        try {
+            return ItemCreationDto.builder()
+                    .name(field(fields, name))
+                    .description(field(fields, description))
+                    .available(availableValue == null ? null : Boolean.valueOf(availableValue))
+                    .requestId(requestIdValue == null ? null : Long.valueOf(requestIdValue))
+                    .build();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("requestId must be a number");
+        }
+    }
+
+    private static int required(final List<String> columns, final String column) {
+        int index = columns.indexOf(column);
+        if (index < 0) {
+            throw new IllegalArgumentException("CSV header has no column " + column);
+        }
+        return index;
+    }
+
+    private static String field(final List<String> fields, final int index) {
+        if (index < 0 || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    static List<String> split(final String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unclosed quote");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
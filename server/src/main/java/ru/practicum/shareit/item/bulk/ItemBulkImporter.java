@@ -0,0 +1,216 @@
+package ru.practicum.shareit.item.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemRepositoryDb;
+import ru.practicum.shareit.item.dto.ItemCreationDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserIdRegistry;
+import ru.practicum.shareit.user.UserRepositoryDb;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Потоковый импорт вещей: строки читаются по одной, сохраняются пачками по batchSize в отдельных транзакциях,
+ * результат по каждой строке сразу пишется в ответ в виде NDJSON. В памяти держится только текущая пачка.
+ */
+@Slf4j
+@Component
+public class ItemBulkImporter {
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private final ItemRepositoryDb itemRepository;
+    private final UserRepositoryDb userRepository;
+    private final UserIdRegistry userIdRegistry;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemMapper mapper;
+    private final ItemSearchIndex searchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader itemReader;
+    private final int batchSize;
+
+    public ItemBulkImporter(final ItemRepositoryDb itemRepository,
+                            final UserRepositoryDb userRepository,
+                            final UserIdRegistry userIdRegistry,
+                            final ItemRequestRepository itemRequestRepository,
+                            final ItemMapper mapper,
+                            final ItemSearchIndex searchIndex,
+                            final TransactionTemplate transactionTemplate,
+                            final ObjectMapper objectMapper,
+                            @Value("${shareit.items.bulk.batch-size:500}") final int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("shareit.items.bulk.batch-size must be positive");
+        }
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.userIdRegistry = userIdRegistry;
+        this.itemRequestRepository = itemRequestRepository;
+        this.mapper = mapper;
+        this.searchIndex = searchIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.itemReader = objectMapper.readerFor(ItemCreationDto.class);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Проверяет владельца и формат (для CSV - заголовок) до того, как в ответ будет что-либо записано,
+     * чтобы ошибки можно было вернуть обычным статусом.
+     */
+    public ItemRowReader open(final Long userId, final MediaType contentType, final InputStream in) throws IOException {
+        if (!userIdRegistry.contains(userId)) {
+            throw new NotFoundException(String.format("User with id = %d is not found", userId));
+        }
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, charset));
+        return CSV.isCompatibleWith(contentType)
+                ? new CsvItemReader(reader)
+                : new NdjsonItemReader(reader, itemReader);
+    }
+
+    public void importItems(final Long userId, final ItemRowReader rows, final OutputStream out) throws IOException {
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        long row = 0;
+        String line;
+        while ((line = rows.nextLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            PendingRow pending = new PendingRow(++row);
+            try {
+                pending.item = rows.parse(line);
+                validate(pending.item);
+            } catch (IllegalArgumentException e) {
+                pending.error = e.getMessage();
+            }
+            batch.add(pending);
+            if (batch.size() == batchSize) {
+                flush(userId, batch, out);
+            }
+        }
+        flush(userId, batch, out);
+    }
+
+    private void flush(final Long userId, final List<PendingRow> batch, final OutputStream out) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<PendingRow> valid = batch.stream().filter(r -> r.error == null).collect(Collectors.toList());
+        if (!valid.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> save(userId, valid));
+                valid.stream().filter(r -> r.saved != null).forEach(r -> searchIndex.index(r.saved));
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Bulk import batch of {} rows failed", valid.size(), e);
+                valid.forEach(r -> {
+                    r.saved = null;
+                    r.error = "Batch was not saved: " + e.getMostSpecificCause().getMessage();
+                });
+            }
+        }
+        for (PendingRow pending : batch) {
+            out.write(objectMapper.writeValueAsBytes(pending.toResult()));
+            out.write('\n');
+        }
+        out.flush();
+        batch.clear();
+    }
+
+    private void save(final Long userId, final List<PendingRow> rows) {
+        Set<Long> requestIds = new HashSet<>();
+        rows.forEach(r -> {
+            if (r.item.getRequestId() != null) {
+                requestIds.add(r.item.getRequestId());
+            }
+        });
+        Map<Long, ItemRequest> requests = requestIds.isEmpty()
+                ? Map.of()
+                : itemRequestRepository.findAllById(requestIds).stream()
+                        .collect(Collectors.toMap(ItemRequest::getRequestId, Function.identity()));
+        User owner = userRepository.getReferenceById(userId);
+        List<Item> items = new ArrayList<>(rows.size());
+        for (PendingRow pending : rows) {
+            Long requestId = pending.item.getRequestId();
+            if (requestId != null && !requests.containsKey(requestId)) {
+                pending.error = "Request not exists";
+                continue;
+            }
+            Item item = mapper.toItem(pending.item);
+            item.setOwner(owner);
+            item.setRequest(requestId == null ? null : requests.get(requestId));
+            pending.saved = item;
+            items.add(item);
+        }
+        itemRepository.saveAll(items);
+    }
+
+    private static void validate(final ItemCreationDto item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Row is empty");
+        }
+        if (item.getName() == null || item.getName().isBlank()) {
+            throw new IllegalArgumentException("name must not be blank");
+        }
+        if (item.getDescription() == null || item.getDescription().isBlank()) {
+            throw new IllegalArgumentException("description must not be blank");
+        }
+        if (item.getAvailable() == null) {
+            throw new IllegalArgumentException("available must not be null");
+        }
+    }
+
+    private static class PendingRow {
+        private final long row;
+        private ItemCreationDto item;
+        private Item saved;
+        private String error;
+
+        PendingRow(final long row) {
+            this.row = row;
+        }
+
+        ItemImportResultDto toResult() {
+            if (error != null) {
+                return ItemImportResultDto.builder()
+                        .row(row)
+                        .status(ItemImportResultDto.Status.REJECTED)
+                        .error(error)
+                        .build();
+            }
+            return ItemImportResultDto.builder()
+                    .row(row)
+                    .status(ItemImportResultDto.Status.CREATED)
+                    .itemId(saved.getId())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.bulk;
+
+import ru.practicum.shareit.item.dto.ItemCreationDto;
+
+import java.io.IOException;
+
+public interface ItemRowReader {
+
+    // null - конец потока
+    String nextLine() throws IOException;
+
+    ItemCreationDto parse(String line);
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import ru.practicum.shareit.item.dto.ItemCreationDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+class NdjsonItemReader implements ItemRowReader {
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+
+    NdjsonItemReader(final BufferedReader reader, final ObjectReader objectReader) {
+        this.reader = reader;
+        this.objectReader = objectReader;
+    }
+
+    @Override
+    public String nextLine() throws IOException {
+        return reader.readLine();
+    }
+
+    @Override
+    public ItemCreationDto parse(final String line) {
+        try {
+            return objectReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+}
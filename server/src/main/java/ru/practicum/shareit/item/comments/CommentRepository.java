@@ -1,9 +1,19 @@
 package ru.practicum.shareit.item.comments;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    // явные запросы: производные фильтруют по id из join вещи, и H2 обходит comments целиком вместо индекса по item_id
+    @EntityGraph(attributePaths = "author")
+    @Query("select c from Comment c where c.item.id = ?1")
     List<Comment> findByItemId(Long id);
+
+    @EntityGraph(attributePaths = {"author", "item"})
+    @Query("select c from Comment c where c.item.id in ?1")
+    List<Comment> findByItemIdIn(Collection<Long> ids);
 }
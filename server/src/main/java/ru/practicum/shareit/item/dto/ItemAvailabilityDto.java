@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.dto.BookingPeriodDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ItemAvailabilityDto {
+    private Long itemId;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    private Boolean available;
+
+    private List<BookingPeriodDto> bookings;
+}
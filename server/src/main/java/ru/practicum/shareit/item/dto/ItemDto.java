@@ -6,7 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.dto.BookingItemDto;
 import ru.practicum.shareit.item.comments.CommentDto;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.dto.UserShortDto;
 
 import java.util.List;
 
@@ -23,7 +23,7 @@ public class ItemDto {
 
     private Boolean available;
 
-    private User owner;
+    private UserShortDto owner;
 
     private BookingItemDto lastBooking;
 
@@ -32,4 +32,15 @@ public class ItemDto {
     private Long requestId;
 
     private List<CommentDto> comments;
+
+    // для select new в списках: владелец собирается из колонок, без загрузки сущностей
+    public ItemDto(final Long id, final String name, final String description, final Boolean available,
+                   final Long ownerId, final String ownerName, final Long requestId) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.available = available;
+        this.owner = new UserShortDto(ownerId, ownerName);
+        this.requestId = requestId;
+    }
 }
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemImportResultDto {
+    private Long row;
+
+    private Status status;
+
+    private Long itemId;
+
+    private String error;
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+}
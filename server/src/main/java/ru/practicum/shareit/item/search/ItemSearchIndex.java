@@ -0,0 +1,223 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemRepositoryDb;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Триграммный индекс доступных вещей по названию и описанию. Отвечает на поиск подстроки так же,
+ * как {@link ItemRepositoryDb#searchByText}: кандидаты берутся пересечением списков по триграммам
+ * запроса и проверяются на вхождение всей строки.
+ * Строится при старте из БД и обновляется сервисом при создании/изменении вещи — внутри транзакции
+ * только после её фиксации, чтобы откаченные изменения не попадали в поиск.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final int GRAM = 3;
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final ItemRepositoryDb itemRepository;
+    private final boolean consistencyCheck;
+
+    private final Map<Long, LongPostingList> postings = new HashMap<>();
+    private final Map<Long, IndexedItem> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemSearchIndex(final ItemRepositoryDb itemRepository,
+                           @Value("${shareit.search.consistency-check:false}") final boolean consistencyCheck) {
+        this.itemRepository = itemRepository;
+        this.consistencyCheck = consistencyCheck;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        List<ItemSearchView> items = itemRepository.findAllByAvailableTrue();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            // id приходят без порядка: дописываем в конец и сортируем каждый список один раз
+            items.forEach(item -> {
+                IndexedItem indexed = document(item.getId(), item.getName(), item.getDescription());
+                indexed.grams.forEach(gram -> postings.computeIfAbsent(gram, g -> new LongPostingList()).append(item.getId()));
+            });
+            postings.values().forEach(LongPostingList::sort);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Item search index built: {} items, {} trigrams", items.size(), postings.size());
+    }
+
+    public void index(final Item item) {
+        if (item.getId() == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(item);
+                }
+            });
+        } else {
+            apply(item);
+        }
+    }
+
+    private void apply(final Item item) {
+        lock.writeLock().lock();
+        try {
+            remove(item.getId());
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                add(item.getId(), item.getName(), item.getDescription());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает id найденных вещей для страницы {@code from/size}, по убыванию релевантности
+     * (совпадение в названии весит больше, чем в описании), при равенстве — по id.
+     */
+    public List<Long> search(final String text, final int from, final int size) {
+        String query = text.toLowerCase(Locale.ROOT);
+        Map<Long, Integer> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            if (query.length() < GRAM) {
+                documents.forEach((id, item) -> score(id, item, query, scores));
+            } else {
+                long[] candidates = candidates(query);
+                for (long id : candidates) {
+                    score(id, documents.get(id), query, scores);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (consistencyCheck) {
+            checkConsistency(text, scores.keySet());
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .skip((long) (from / size) * size)
+                .limit(size)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private long[] candidates(final String query) {
+        List<LongPostingList> lists = new ArrayList<>();
+        for (long gram : grams(query)) {
+            LongPostingList posting = postings.get(gram);
+            if (posting == null) {
+                return new long[0];
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(LongPostingList::size));
+        long[] candidates = lists.get(0).toArray();
+        int length = candidates.length;
+        for (int i = 1; i < lists.size() && length > 0; i++) {
+            length = lists.get(i).retain(candidates, length);
+        }
+        return Arrays.copyOf(candidates, length);
+    }
+
+    private static void score(final Long id, final IndexedItem item, final String query, final Map<Long, Integer> scores) {
+        int score = 0;
+        if (item.name.contains(query)) {
+            score += NAME_WEIGHT;
+        }
+        if (item.description.contains(query)) {
+            score += DESCRIPTION_WEIGHT;
+        }
+        if (score > 0) {
+            scores.put(id, score);
+        }
+    }
+
+    private void checkConsistency(final String text, final Set<Long> found) {
+        Set<Long> expected = new HashSet<>(itemRepository.searchIdsByText(text));
+        if (!expected.equals(found)) {
+            Set<Long> missing = new TreeSet<>(expected);
+            missing.removeAll(found);
+            Set<Long> extra = new TreeSet<>(found);
+            extra.removeAll(expected);
+            log.warn("Item search index is inconsistent for '{}': missing {}, extra {}", text, missing, extra);
+        }
+    }
+
+    private void add(final Long itemId, final String name, final String description) {
+        IndexedItem item = document(itemId, name, description);
+        item.grams.forEach(gram -> postings.computeIfAbsent(gram, g -> new LongPostingList()).add(itemId));
+    }
+
+    private IndexedItem document(final Long itemId, final String name, final String description) {
+        IndexedItem item = new IndexedItem(lower(name), lower(description));
+        documents.put(itemId, item);
+        return item;
+    }
+
+    private void remove(final Long itemId) {
+        IndexedItem item = documents.remove(itemId);
+        if (item == null) {
+            return;
+        }
+        item.grams.forEach(gram -> {
+            LongPostingList posting = postings.get(gram);
+            posting.remove(itemId);
+            if (posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        });
+    }
+
+    private static String lower(final String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<Long> grams(final String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static class IndexedItem {
+        private final String name;
+        private final String description;
+        private final Set<Long> grams;
+
+        IndexedItem(final String name, final String description) {
+            this.name = name;
+            this.description = description;
+            this.grams = grams(name);
+            this.grams.addAll(grams(description));
+        }
+    }
+}
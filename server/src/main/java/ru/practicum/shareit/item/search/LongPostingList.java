@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+/**
+ * Отсортированный список id вещей на примитивном массиве, без упаковки в Long.
+ */
+class LongPostingList {
+    private long[] ids = new long[4];
+    private int size;
+
+    void add(final long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+    }
+
+    /**
+     * Добавляет id в конец без поддержания порядка — для массовой загрузки, после которой вызывается {@link #sort()}.
+     */
+    void append(final long id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    /**
+     * Восстанавливает порядок после {@link #append} одной сортировкой и убирает повторы.
+     */
+    void sort() {
+        Arrays.sort(ids, 0, size);
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || ids[unique - 1] != ids[i]) {
+                ids[unique++] = ids[i];
+            }
+        }
+        size = unique;
+    }
+
+    void remove(final long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+    }
+
+    boolean contains(final long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Оставляет в первых {@code length} элементах {@code candidates} только те id, что есть в списке,
+     * и возвращает их новое количество.
+     */
+    int retain(final long[] candidates, final int length) {
+        int kept = 0;
+        for (int i = 0; i < length; i++) {
+            if (contains(candidates[i])) {
+                candidates[kept++] = candidates[i];
+            }
+        }
+        return kept;
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+
+/**
+ * Считает сущности, собранные Hibernate в потоке текущего запроса.
+ */
+public class EntityLoadInterceptor extends EmptyInterceptor {
+
+    @Override
+    public boolean onLoad(final Object entity, final Serializable id, final Object[] state,
+                          final String[] propertyNames, final Type[] types) {
+        RequestQueryStats.entityLoaded();
+        return false;
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Таймеры сервисов (@Timed("shareit.service") на реализациях), счётчики обращений к БД по запросам и поиск N+1.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(final MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCounting() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingInspector());
+            properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadInterceptor());
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(final MeterRegistry registry,
+                                                                             final NPlusOneDetector detector) {
+        FilterRegistrationBean<RequestMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestMetricsFilter(registry, detector));
+        // снаружи ETag-фильтра, чтобы счётчики охватывали весь запрос
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ищет N+1 по итогам запроса: одна и та же {@link SqlShape форма} SQL больше threshold раз.
+ * В проде пишет предупреждение и shareit.request.n-plus-one с эндпоинтом в тегах,
+ * с shareit.n-plus-one.fail=true (включено в тестах) бросает {@link NPlusOneQueryException} с отчётом.
+ * Шаблоны путей из shareit.n-plus-one.ignored-uris не проверяются.
+ */
+@Slf4j
+@Component
+public class NPlusOneDetector {
+    private final MeterRegistry registry;
+    private final int threshold;
+    private final boolean fail;
+    private final List<String> ignoredUris;
+
+    public NPlusOneDetector(final MeterRegistry registry,
+                            @Value("${shareit.n-plus-one.threshold:5}") final int threshold,
+                            @Value("${shareit.n-plus-one.fail:false}") final boolean fail,
+                            @Value("${shareit.n-plus-one.ignored-uris:}") final List<String> ignoredUris) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("shareit.n-plus-one.threshold must be positive");
+        }
+        this.registry = registry;
+        this.threshold = threshold;
+        this.fail = fail;
+        this.ignoredUris = ignoredUris;
+    }
+
+    void check(final String method, final String uri, final RequestQueryStats stats) {
+        if (ignoredUris.contains(uri)) {
+            return;
+        }
+        Map<String, Integer> repeated = stats.repeatedShapes(threshold);
+        if (repeated.isEmpty()) {
+            return;
+        }
+        Counter.builder("shareit.request.n-plus-one")
+                .tags("method", method, "uri", uri)
+                .register(registry)
+                .increment();
+        String report = report(method, uri, stats, repeated);
+        if (fail) {
+            throw new NPlusOneQueryException(report);
+        }
+        log.warn(report);
+    }
+
+    private String report(final String method, final String uri, final RequestQueryStats stats,
+                          final Map<String, Integer> repeated) {
+        StringBuilder report = new StringBuilder(String.format("Possible N+1 in %s %s: %d statements, "
+                + "shapes repeated more than %d times:", method, uri, stats.getStatements(), threshold));
+        repeated.forEach((shape, count) -> report.append(System.lineSeparator())
+                .append("  ").append(count).append(" x ").append(shape));
+        return report.toString();
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.metrics;
+
+public class NPlusOneQueryException extends RuntimeException {
+    public NPlusOneQueryException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Считает SQL-выражения, которые Hibernate готовит в потоке текущего запроса.
+ */
+public class QueryCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(final String sql) {
+        RequestQueryStats.statementPrepared(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Открывает {@link RequestQueryStats} на время запроса и пишет число SQL-выражений и загруженных сущностей
+ * в shareit.request.statements / shareit.request.entity.loads с шаблоном пути в теге uri,
+ * после ответа отдаёт счётчики {@link NPlusOneDetector}.
+ */
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private final MeterRegistry registry;
+    private final NPlusOneDetector nPlusOneDetector;
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain chain) throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.start();
+        String uri;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.stop();
+            // ответы с телом получают заголовок в ServerTimingAdvice, здесь — пустые
+            if (!response.isCommitted() && !response.containsHeader(SERVER_TIMING)) {
+                response.setHeader(SERVER_TIMING, stats.serverTiming());
+            }
+            uri = uri(request);
+            Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+            summary("shareit.request.statements", "statements", tags).record(stats.getStatements());
+            summary("shareit.request.entity.loads", "entities", tags).record(stats.getEntityLoads());
+        }
+        // только для завершившихся запросов: исключение из цепочки не подменяется отчётом
+        nPlusOneDetector.check(request.getMethod(), uri, stats);
+    }
+
+    private DistributionSummary summary(final String name, final String unit, final Tags tags) {
+        return DistributionSummary.builder(name)
+                .baseUnit(unit)
+                .tags(tags)
+                .register(registry);
+    }
+
+    private static String uri(final HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.metrics;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Счётчики текущего HTTP-запроса: время начала, SQL-выражения (всего и по формам) и загруженные сущности.
+ * Живут в ThreadLocal потока запроса от {@link RequestMetricsFilter} до ответа; вне запроса не ведутся.
+ */
+public final class RequestQueryStats {
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final long startedNanos = System.nanoTime();
+    private int statements;
+    private int entityLoads;
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    private RequestQueryStats() {
+    }
+
+    static RequestQueryStats start() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    static void statementPrepared(final String sql) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.shapes.merge(SqlShape.of(sql), 1, Integer::sum);
+        }
+    }
+
+    static void entityLoaded() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entityLoads++;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    /**
+     * Формы SQL, повторённые больше threshold раз, от самой частой.
+     */
+    public Map<String, Integer> repeatedShapes(final int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.entrySet().stream()
+                .filter(shape -> shape.getValue() > threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .forEach(shape -> repeated.put(shape.getKey(), shape.getValue()));
+        return repeated;
+    }
+
+    public double elapsedMillis() {
+        return (System.nanoTime() - startedNanos) / 1_000_000.0;
+    }
+
+    /**
+     * Значение заголовка Server-Timing: время обработки на сервере и число обращений к БД.
+     */
+    String serverTiming() {
+        return String.format(Locale.ROOT, "app;dur=%.1f, db;desc=\"%d statements, %d entity loads\"",
+                elapsedMillis(), statements, entityLoads);
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Server-Timing для ответов с телом: после записи тела заголовки уже не поменять,
+ * поэтому он выставляется перед сериализацией.
+ */
+@RestControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(final MethodParameter returnType,
+                            final Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(final Object body, final MethodParameter returnType, final MediaType contentType,
+                                  final Class<? extends HttpMessageConverter<?>> converterType,
+                                  final ServerHttpRequest request, final ServerHttpResponse response) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            response.getHeaders().set(RequestMetricsFilter.SERVER_TIMING, stats.serverTiming());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.metrics;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Форма SQL-выражения: литералы заменены на ?, списки IN (?, ?, ...) свёрнуты в (?), пробелы схлопнуты.
+ * Выражения одной формы различаются только параметрами — повтор формы в одном запросе и есть N+1.
+ */
+final class SqlShape {
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlShape() {
+    }
+
+    static String of(final String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+}
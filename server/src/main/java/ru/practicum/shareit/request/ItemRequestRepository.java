@@ -1,14 +1,21 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.List;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-    Page<ItemRequest> findAllByRequestorId(Long userId, Pageable pages);
+    @Query("select new ru.practicum.shareit.request.dto.ItemRequestDto(r.requestId, r.description, r.created) "
+            + "from ItemRequest r where r.requestor.id = ?1")
+    List<ItemRequestDto> findDtosByRequestorId(Long userId, Pageable pages);
 
-    Page<ItemRequest> findAllByRequestorIdNot(Long userId, Pageable pages);
+    @Query("select new ru.practicum.shareit.request.dto.ItemRequestDto(r.requestId, r.description, r.created) "
+            + "from ItemRequest r where r.requestor.id <> ?1")
+    List<ItemRequestDto> findDtosByRequestorIdNot(Long userId, Pageable pages);
 }
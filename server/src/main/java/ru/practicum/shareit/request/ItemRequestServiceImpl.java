@@ -1,24 +1,27 @@
 package ru.practicum.shareit.request;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.NotFoundException;
-import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemForRequest;
 import ru.practicum.shareit.item.ItemRepositoryDb;
 import ru.practicum.shareit.request.dto.ItemRequestCreationDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.UserIdRegistry;
 import ru.practicum.shareit.user.UserRepositoryDb;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-
+@Timed("shareit.service")
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
 
@@ -26,9 +29,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final UserRepositoryDb userRepository;
 
-    private final ItemRequestMapper mapper;
+    private final UserIdRegistry userIdRegistry;
 
-    private final ItemMapper itemMapper;
+    private final ItemRequestMapper mapper;
 
     @Override
     public ItemRequestDto add(final Long userId, final ItemRequestCreationDto itemRequestCreationDto) {
@@ -38,52 +41,49 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return mapper.toItemRequestDto(itemRequestRepository.save(item));
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<ItemRequestDto> getAllMyRequest(final Long userId, final Integer from, final Integer size) {
-        if (!userRepository.existsById(userId)) {
+        if (!userIdRegistry.contains(userId)) {
             throw new NotFoundException("User Not found!");
         }
 
         Pageable pageable = PageRequest.of(from == 0 ? 0 : from / size, size).withSort(Sort.by("created").descending());
-        Page<ItemRequestDto> requests = itemRequestRepository
-                .findAllByRequestorId(userId, pageable)
-                .map(this::composeItemsWithRequest);
-        return requests.stream().collect(Collectors.toList());
+        return composeItemsWithRequests(itemRequestRepository.findDtosByRequestorId(userId, pageable));
     }
 
-    private ItemRequestDto composeItemsWithRequest(final ItemRequest itemRequest) {
-        var itemRequestDto  = mapper.toItemRequestDto(itemRequest);
-        var items = itemRepository.findAllByRequestRequestId(itemRequest.getRequestId())
-                .stream()
-                .map(itemMapper::toItemForRequest)
-                .collect(Collectors.toList());
-        if (items.isEmpty()) {
-            itemRequestDto.setItems(List.of());
+    // вещи для всей страницы запросов одним запросом, а не по запросу на каждый ItemRequest
+    private List<ItemRequestDto> composeItemsWithRequests(final List<ItemRequestDto> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return List.of();
         }
-        itemRequestDto.setItems(items);
-        return itemRequestDto;
+        Map<Long, List<ItemForRequest>> items = itemRepository.findAllByRequestRequestIdIn(itemRequests.stream()
+                        .map(ItemRequestDto::getId)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(ItemForRequest::getRequestId));
+        itemRequests.forEach(itemRequest -> itemRequest.setItems(items.getOrDefault(itemRequest.getId(), List.of())));
+        return itemRequests;
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<ItemRequestDto> getAll(final Long userId, final Integer from, final Integer size) {
-        if (!userRepository.existsById(userId)) {
+        if (!userIdRegistry.contains(userId)) {
             throw new NotFoundException("User Not found!");
         }
         Pageable pageable = PageRequest.of(from == 0 ? 0 : from / size, size).withSort(Sort.by("created").descending());
-        var requests = itemRequestRepository.findAllByRequestorIdNot(userId, pageable)
-                .map(this::composeItemsWithRequest)
-                .stream()
-                .collect(Collectors.toList());
-        return requests;
+        return composeItemsWithRequests(itemRequestRepository.findDtosByRequestorIdNot(userId, pageable));
 
     }
 
+    @Transactional(readOnly = true)
     @Override
     public ItemRequestDto getById(final Long userId, final Long requestId) {
-        if (!userRepository.existsById(userId)) {
+        if (!userIdRegistry.contains(userId)) {
             throw new NotFoundException("User not found");
         }
         var itemRequest = itemRequestRepository.findById(requestId).orElseThrow(() -> new NotFoundException(""));
-        return composeItemsWithRequest(itemRequest);
+        return composeItemsWithRequests(List.of(mapper.toItemRequestDto(itemRequest))).get(0);
     }
 }
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import ru.practicum.shareit.item.ItemForRequest;
 
 import java.sql.Timestamp;
+import java.util.Date;
 import java.util.List;
 
 @Data
@@ -21,4 +22,11 @@ public class ItemRequestDto {
     private Timestamp created;
 
     private List<ItemForRequest> items;
+
+    // для select new в списках запросов; Hibernate объявляет тип колонки как Date
+    public ItemRequestDto(final Long id, final String description, final Date created) {
+        this.id = id;
+        this.description = description;
+        this.created = created == null ? null : Timestamp.from(created.toInstant());
+    }
 }
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Множество id существующих пользователей для проверки заголовка X-Sharer-User-Id без обращения к БД.
+ * Id выдаются последовательностью подряд, поэтому битовая карта занимает около бита на пользователя.
+ * Строится при старте из БД и обновляется сервисом при создании/удалении пользователя.
+ * Неизвестный id проверяется в БД (строка могла появиться мимо сервиса), найденный запоминается.
+ * <p>
+ * Рассчитано на один экземпляр сервера: удаление пользователя другим экземпляром сюда не попадает,
+ * и contains продолжит отвечать true, пока карта не будет перестроена.
+ */
+@Slf4j
+@Component
+public class UserIdRegistry {
+    private final UserRepositoryDb userRepository;
+
+    private final BitSet ids = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public UserIdRegistry(final UserRepositoryDb userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        List<Long> userIds = userRepository.findAllIds();
+        lock.writeLock().lock();
+        try {
+            ids.clear();
+            userIds.forEach(this::set);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("User id registry built: {} users", userIds.size());
+    }
+
+    public boolean contains(final Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        if (fits(userId)) {
+            lock.readLock().lock();
+            try {
+                if (ids.get(userId.intValue())) {
+                    return true;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        // отсутствие не запоминаем: id может появиться в БД мимо сервиса
+        if (!userRepository.existsById(userId)) {
+            return false;
+        }
+        add(userId);
+        return true;
+    }
+
+    public void add(final Long userId) {
+        if (userId == null || !fits(userId)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            set(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(final Long userId) {
+        if (userId == null || !fits(userId)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ids.clear(userId.intValue());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void set(final Long userId) {
+        if (fits(userId)) {
+            ids.set(userId.intValue());
+        }
+    }
+
+    // id за пределами int в карту не помещаются и всегда проверяются в БД
+    private static boolean fits(final long userId) {
+        return userId >= 0 && userId < Integer.MAX_VALUE;
+    }
+}
@@ -1,9 +1,29 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 public interface UserRepositoryDb extends JpaRepository<User, Long> {
 
-    boolean existsById(long userId);
+    // проверка пользователя из заголовка есть почти в каждом запросе: стандартный existsById
+    // всегда идёт в базу запросом count, а findById отвечает из L2-кэша
+    @Override
+    default boolean existsById(Long userId) {
+        return findById(userId).isPresent();
+    }
+
+    // id из кэша запросов, сами пользователи из L2; Hibernate сбрасывает результат при любой записи в users
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Override
+    List<User> findAll();
+
+    @Query("select u.id from User u")
+    List<Long> findAllIds();
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exceptions.NotFoundException;
@@ -13,9 +14,11 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("shareit.service")
 public class UserServiceImpl implements UserService {
     private final UserRepositoryDb userRepository;
     private final UserMapper mapper;
+    private final UserIdRegistry userIdRegistry;
 
     @Override
     public UserDto get(final Long userId) {
@@ -35,7 +38,9 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserDto create(final UserCreationDto userCreationDto) {
         User user = mapper.toUser(userCreationDto);
-        return mapper.toUserDto(userRepository.save(user));
+        User saved = userRepository.save(user);
+        userIdRegistry.add(saved.getId());
+        return mapper.toUserDto(saved);
     }
 
     @Override
@@ -59,11 +64,12 @@ public class UserServiceImpl implements UserService {
     @Override
     public void delete(final Long userId) {
         userRepository.deleteById(userId);
+        userIdRegistry.remove(userId);
     }
 
     @Override
     public boolean contains(final Long userId) {
-        return userRepository.existsById(userId);
+        return userIdRegistry.contains(userId);
     }
 
 }
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// пользователь внутри ответов о вещах и бронированиях
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class UserShortDto {
+    private Long id;
+
+    private String name;
+}
@@ -1,10 +1,3 @@
-DROP TABLE IF EXISTS booking_statuses,
-requests,
-bookings,
-comments,
-items,
-users;
-
 CREATE TABLE IF NOT EXISTS users (
     user_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     name VARCHAR(255) NOT NULL,
@@ -47,4 +40,3 @@ CREATE TABLE IF NOT EXISTS comments (
     author_id BIGINT REFERENCES users(user_id),
     created timestamp
 );
-
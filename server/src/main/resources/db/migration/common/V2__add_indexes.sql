@@ -0,0 +1,12 @@
+-- bookings: выборки бронирующего с сортировкой по start_time desc
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_time DESC);
+-- bookings: выборки по вещи (владелец, last/next booking, пересечения дат)
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_time);
+CREATE INDEX IF NOT EXISTS idx_bookings_status_end ON bookings (status, end_time);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (user_id);
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS idx_requests_requestor ON requests (user_id);
@@ -0,0 +1,18 @@
+-- владелец вещи в самой брони: списки владельца без join по items. Это копия items.user_id, внешнего ключа
+-- у неё нет — он есть у вещи, а в H2 ключ завёл бы свой индекс по owner_id в обход составных ниже
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+UPDATE bookings SET owner_id = (SELECT i.user_id FROM items i WHERE i.item_id = bookings.item_id) WHERE owner_id IS NULL;
+
+-- фаза брони (FUTURE / CURRENT / PAST); существующие и вставленные мимо приложения строки начинают с FUTURE,
+-- BookingPhaseSweeper при старте сервера доводит их до текущей фазы по часам приложения
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS phase VARCHAR(10) DEFAULT 'FUTURE' NOT NULL;
+
+-- списки по состоянию: равенство по (арендатор | владелец, phase | status) и готовый порядок start_time desc
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_phase_start ON bookings (booker_id, phase, start_time DESC, booking_id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_time DESC, booking_id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_start ON bookings (owner_id, start_time DESC, booking_id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_phase_start ON bookings (owner_id, phase, start_time DESC, booking_id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_status_start ON bookings (owner_id, status, start_time DESC, booking_id DESC);
+-- проход BookingPhaseSweeper: только брони, чья граница уже наступила
+CREATE INDEX IF NOT EXISTS idx_bookings_phase_start ON bookings (phase, start_time);
+CREATE INDEX IF NOT EXISTS idx_bookings_phase_end ON bookings (phase, end_time);
@@ -0,0 +1,14 @@
+-- шаг последовательности совпадает с allocationSize в @SequenceGenerator (pooled optimizer)
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
+
+-- pooled берёт значение последовательности как верхнюю границу блока,
+-- поэтому первая выдача должна быть на шаг выше уже занятых id
+SELECT setval('users_seq', (SELECT COALESCE(MAX(user_id), 0) FROM users) + 50, false);
+SELECT setval('requests_seq', (SELECT COALESCE(MAX(request_id), 0) FROM requests) + 50, false);
+SELECT setval('items_seq', (SELECT COALESCE(MAX(item_id), 0) FROM items) + 50, false);
+SELECT setval('bookings_seq', (SELECT COALESCE(MAX(booking_id), 0) FROM bookings) + 50, false);
+SELECT setval('comments_seq', (SELECT COALESCE(MAX(comment_id), 0) FROM comments) + 50, false);
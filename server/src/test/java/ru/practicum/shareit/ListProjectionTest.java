@@ -0,0 +1,161 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.ItemRepositoryDb;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.UserIdRegistry;
+import ru.practicum.shareit.user.UserRepositoryDb;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Списки вещей, бронирований и запросов читаются проекциями: ни одной сущности в контексте персистентности.
+ * Замер памяти и времени: mvn test -Dtest=ListProjectionTest -Dshareit.benchmark=true
+ */
+@Slf4j
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class ListProjectionTest {
+    private static final int PAGE = 50;
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemRequestService itemRequestService;
+    @Autowired
+    private UserRepositoryDb userRepository;
+    @Autowired
+    private ItemRepositoryDb itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private UserIdRegistry userIdRegistry;
+    @Autowired
+    private ItemSearchIndex searchIndex;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics statistics;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate.executeWithoutResult(status -> {
+            owner = userRepository.save(User.builder().name("owner").email("owner@mail.ru").build());
+            User booker = userRepository.save(User.builder().name("booker").email("booker@mail.ru").build());
+            LocalDateTime start = LocalDateTime.now().minusDays(PAGE);
+            for (int i = 0; i < PAGE; i++) {
+                ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                        .description("request" + i).requestor(booker).build());
+                Item item = itemRepository.save(Item.builder().owner(owner).name("item" + i)
+                        .description("desc" + i).available(true).request(i % 2 == 0 ? request : null).build());
+                bookingRepository.save(Booking.builder().item(item).booker(booker).status(BookingStatus.APPROVED)
+                        .start(start.plusDays(i)).end(start.plusDays(i).plusHours(1)).build());
+            }
+        });
+        userIdRegistry.rebuild();
+        searchIndex.rebuild();
+        statistics.clear();
+    }
+
+    @Test
+    void items_shouldBeReadWithoutEntities() {
+        List<ItemDto> items = itemService.getAll(owner.getId(), 0, PAGE);
+
+        assertEquals(PAGE, items.size());
+        assertEquals("owner", items.get(0).getOwner().getName());
+        assertEquals(items.get(0).getId() + 1, items.get(1).getId());
+        assertNull(items.get(1).getRequestId());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void search_shouldBeReadWithoutEntities() {
+        List<ItemDto> items = itemService.search("item1", 0, PAGE);
+
+        assertEquals(11, items.size());
+        assertEquals("item1", items.get(0).getName());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void bookings_shouldBeReadWithoutEntities() {
+        var bookings = bookingService.getAll(owner.getId(), "ALL", true, 0, PAGE);
+
+        assertEquals(PAGE, bookings.size());
+        assertEquals("item49", bookings.get(0).getItem().getName());
+        assertEquals("booker", bookings.get(0).getBooker().getName());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void requests_shouldBeReadWithoutEntities() {
+        List<ItemRequestDto> requests = itemRequestService.getAll(owner.getId(), 0, PAGE);
+
+        assertEquals(PAGE, requests.size());
+        assertEquals(PAGE / 2, requests.stream().filter(request -> !request.getItems().isEmpty()).count());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+    void listEndpoints_allocationAndLatency() {
+        int rounds = Integer.getInteger("shareit.benchmark.rounds", 2_000);
+        Long ownerId = owner.getId();
+        measure("GET /items", rounds, () -> itemService.getAll(ownerId, 0, PAGE));
+        measure("GET /bookings/owner?state=ALL", rounds, () -> bookingService.getAll(ownerId, "ALL", true, 0, PAGE));
+        measure("GET /requests/all", rounds, () -> itemRequestService.getAll(ownerId, 0, PAGE));
+    }
+
+    private static void measure(final String endpoint, final int rounds, final Runnable call) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < rounds; i++) {
+            call.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long allocated = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            call.run();
+        }
+        long micros = (System.nanoTime() - started) / 1_000 / rounds;
+        long kilobytes = (threads.getThreadAllocatedBytes(threadId) - allocated) / 1024 / rounds;
+        log.info("{}, {} rows: {} us, {} KB allocated per call", endpoint, PAGE, micros, kilobytes);
+    }
+}
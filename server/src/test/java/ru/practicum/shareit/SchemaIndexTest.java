@@ -0,0 +1,187 @@
+package ru.practicum.shareit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingPhase;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.State;
+import ru.practicum.shareit.item.ItemRepositoryDb;
+import ru.practicum.shareit.item.comments.CommentRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAIN для SQL, который Hibernate строит из репозиториев: запросы перехватываются StatementInspector,
+ * как в счётчиках запросов, и разбираются планировщиком H2.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@Import(SchemaIndexTest.SqlCaptureConfig.class)
+class SchemaIndexTest {
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final BookingCursor CURSOR = new BookingCursor(NOW, 100L);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepositoryDb itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository requestRepository;
+
+    @BeforeEach
+    void setUp() {
+        sqlCapture.statements.clear();
+        // ANALYZE фиксирует транзакцию теста, поэтому данные заводятся один раз на контекст
+        if (jdbcTemplate.queryForObject("select count(*) from bookings", Long.class) > 0) {
+            return;
+        }
+        // на пустой таблице H2 не отличает составной индекс от индекса внешнего ключа, поэтому нужна статистика
+        jdbcTemplate.update("insert into users (user_id, name, email) values (1, 'owner', 'owner@mail.ru')");
+        for (int i = 1; i <= 20; i++) {
+            jdbcTemplate.update("insert into items (item_id, name, description, available, user_id) values (?, 'item', 'desc', true, 1)", i);
+        }
+        String[] phases = {"FUTURE", "CURRENT", "PAST"};
+        String[] statuses = {"WAITING", "APPROVED", "REJECTED"};
+        for (int i = 0; i < 20; i++) {
+            jdbcTemplate.update("insert into users (user_id, name, email) values (?, ?, ?)", i + 2, "user" + i, "user" + i + "@mail.ru");
+        }
+        for (int i = 0; i < 600; i++) {
+            jdbcTemplate.update("insert into bookings (booking_id, start_time, end_time, status, item_id, booker_id, owner_id, phase) "
+                            + "values (?, now(), now(), ?, ?, ?, ?, ?)",
+                    i + 1, statuses[i / 3 % 3], i % 20 + 1, i % 20 + 2, i % 2 == 0 ? 1 : i % 20 + 2, phases[i % 3]);
+        }
+        jdbcTemplate.execute("analyze table bookings");
+    }
+
+    @Test
+    void migrations_shouldCreateIndexes() {
+        assertThat(jdbcTemplate.queryForList(
+                "select index_name from information_schema.indexes where index_name like 'IDX_%'", String.class))
+                .contains("IDX_BOOKINGS_BOOKER_START", "IDX_BOOKINGS_ITEM_START", "IDX_BOOKINGS_STATUS_END",
+                        "IDX_ITEMS_OWNER", "IDX_ITEMS_REQUEST", "IDX_COMMENTS_ITEM", "IDX_REQUESTS_REQUESTOR",
+                        "IDX_BOOKINGS_BOOKER_PHASE_START", "IDX_BOOKINGS_BOOKER_STATUS_START", "IDX_BOOKINGS_OWNER_START",
+                        "IDX_BOOKINGS_OWNER_PHASE_START", "IDX_BOOKINGS_OWNER_STATUS_START",
+                        "IDX_BOOKINGS_PHASE_START", "IDX_BOOKINGS_PHASE_END");
+    }
+
+    @Test
+    void bookingsByState_shouldUseEqualityOnCompositeIndex() {
+        assertThat(explain(() -> bookingRepository.findAfterCursor(2L, false, State.CURRENT, CURSOR, 10)))
+                .contains("IDX_BOOKINGS_BOOKER_PHASE_START");
+        assertThat(explain(() -> bookingRepository.findAfterCursor(2L, false, State.WAITING, CURSOR, 10)))
+                .contains("IDX_BOOKINGS_BOOKER_STATUS_START");
+        assertThat(explain(() -> bookingRepository.findAfterCursor(1L, true, State.ALL, CURSOR, 10)))
+                .contains("IDX_BOOKINGS_OWNER_START");
+        assertThat(explain(() -> bookingRepository.findPage(1L, true, State.PAST, 0, 10)))
+                .contains("IDX_BOOKINGS_OWNER_PHASE_START");
+        assertThat(explain(() -> bookingRepository.findPage(1L, true, State.REJECTED, 0, 10)))
+                .contains("IDX_BOOKINGS_OWNER_STATUS_START");
+    }
+
+    @Test
+    void phaseSweep_shouldUsePhaseIndexes() {
+        assertThat(explain(() -> bookingRepository.advanceStarted(NOW)))
+                .contains("IDX_BOOKINGS_PHASE_START");
+        assertThat(explain(() -> bookingRepository.advanceEnded(BookingPhase.CURRENT, NOW)))
+                .contains("IDX_BOOKINGS_PHASE_END");
+    }
+
+    @Test
+    void bookerBookings_shouldUseIndexScan() {
+        assertThat(explain(() -> bookingRepository.existsByBookerIdAndEndBeforeAndStatus(2L, NOW, BookingStatus.APPROVED)))
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void itemBookings_shouldUseItemStartIndex() {
+        assertThat(explain(() -> bookingRepository.findLastBookings(List.of(1L, 2L), NOW)))
+                .contains("IDX_BOOKINGS_ITEM_START")
+                .doesNotContain("tableScan");
+        assertThat(explain(() -> bookingRepository.findNextBookings(List.of(1L, 2L), NOW, BookingStatus.REJECTED)))
+                .contains("IDX_BOOKINGS_ITEM_START")
+                .doesNotContain("tableScan");
+        assertIndexScan(explain(() -> bookingRepository.findActiveBookings(1L,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), NOW)), "ITEM_ID");
+    }
+
+    @Test
+    void foreignKeyLookups_shouldUseIndexScan() {
+        assertIndexScan(explain(() -> itemRepository.findDtosByOwnerId(1L, PageRequest.of(0, 10))), "USER_ID");
+        assertIndexScan(explain(() -> itemRepository.findAllByRequestRequestIdIn(List.of(1L, 2L))), "REQUEST_ID");
+        assertIndexScan(explain(() -> commentRepository.findByItemId(1L)), "ITEM_ID");
+        assertIndexScan(explain(() -> commentRepository.findByItemIdIn(List.of(1L, 2L))), "ITEM_ID");
+        assertIndexScan(explain(() -> requestRepository.findDtosByRequestorId(1L, PageRequest.of(0, 10))), "USER_ID");
+    }
+
+    // план единственного SQL, отправленного репозиторием; параметры подставляются как NULL — индекс H2
+    // выбирает при подготовке выражения, а не по значениям
+    private String explain(final Runnable repositoryCall) {
+        sqlCapture.statements.clear();
+        repositoryCall.run();
+        assertThat(sqlCapture.statements).hasSize(1);
+        String sql = sqlCapture.statements.get(0);
+        Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        return jdbcTemplate.queryForObject("explain " + sql, String.class, parameters);
+    }
+
+    // H2 пишет выбранный индекс в комментарий плана: /* PUBLIC.<INDEX>: <COLUMN> = ... */
+    private static void assertIndexScan(final String plan, final String column) {
+        assertThat(plan)
+                .doesNotContain("tableScan")
+                .containsPattern("/\\* PUBLIC\\.\\w+: (\\w+\\.)?" + column + " (=|IN)");
+    }
+
+    static class SqlCapture implements StatementInspector {
+        private final List<String> statements = new ArrayList<>();
+
+        @Override
+        public String inspect(final String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @TestConfiguration
+    static class SqlCaptureConfig {
+        @Bean
+        SqlCapture sqlCapture() {
+            return new SqlCapture();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer sqlCaptureInspector(final SqlCapture sqlCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlCapture);
+        }
+    }
+}
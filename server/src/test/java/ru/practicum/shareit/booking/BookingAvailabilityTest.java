@@ -0,0 +1,179 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.exceptions.NotAvailableException;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingAvailabilityTest {
+    private final BookingRepository repository = mock(BookingRepository.class);
+
+    private final BookingAvailability availability = new BookingAvailability(repository, 1000, Duration.ofHours(1));
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+    private Booking booking(final long itemId, final LocalDateTime start, final LocalDateTime end) {
+        return Booking.builder()
+                .bookingId(ids.incrementAndGet())
+                .item(Item.builder().id(itemId).build())
+                .start(start)
+                .end(end)
+                .build();
+    }
+
+    @Test
+    void reserve_shouldRejectOverlapWithLoadedBookings() {
+        when(repository.findActiveBookings(eq(1L), anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(List.of(new BookingItemDto(7L, 1L, 2L, start, start.plusHours(2))));
+
+        assertThrows(NotAvailableException.class,
+                () -> availability.reserve(1L, start.minusHours(1), start.plusHours(1), () -> booking(1L, start, start)));
+        assertThrows(NotAvailableException.class,
+                () -> availability.reserve(1L, start.plusHours(1), start.plusHours(3), () -> booking(1L, start, start)));
+
+        Booking before = booking(1L, start.minusHours(1), start);
+        assertEquals(before, availability.reserve(1L, before.getStart(), before.getEnd(), () -> before));
+        assertEquals(2, availability.getBookings(1L, start.minusDays(1), start.plusDays(1)).size());
+        assertEquals(1, availability.getBookings(1L, start.plusHours(1), start.plusDays(1)).size());
+    }
+
+    @Test
+    void release_shouldFreeDates() {
+        Booking booking = booking(1L, start, start.plusHours(1));
+        availability.reserve(1L, booking.getStart(), booking.getEnd(), () -> booking);
+
+        availability.release(booking);
+
+        assertEquals(0, availability.getBookings(1L, start.minusDays(1), start.plusDays(1)).size());
+    }
+
+    @Test
+    void reserve_rolledBackTransaction_shouldFreeDates() {
+        Booking booking = booking(1L, start, start.plusHours(1));
+
+        inTransaction(() -> availability.reserve(1L, booking.getStart(), booking.getEnd(), () -> booking),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(0, availability.getBookings(1L, start.minusDays(1), start.plusDays(1)).size());
+    }
+
+    @Test
+    void release_shouldApplyOnlyAfterCommit() {
+        Booking booking = booking(1L, start, start.plusHours(1));
+        availability.reserve(1L, booking.getStart(), booking.getEnd(), () -> booking);
+
+        inTransaction(() -> availability.release(booking), TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(1, availability.getBookings(1L, start.minusDays(1), start.plusDays(1)).size());
+
+        inTransaction(() -> availability.release(booking), TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(0, availability.getBookings(1L, start.minusDays(1), start.plusDays(1)).size());
+    }
+
+    @Test
+    void release_lastBooking_shouldEvictSchedule() {
+        Booking booking = booking(1L, start, start.plusHours(1));
+        availability.reserve(1L, booking.getStart(), booking.getEnd(), () -> booking);
+
+        availability.release(booking);
+        availability.getBookings(1L, start.minusDays(1), start.plusDays(1));
+
+        // пустое расписание вытеснено и загружается из БД второй раз
+        verify(repository, times(2)).findActiveBookings(eq(1L), anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void reserve_uncommittedReservation_shouldSurviveScheduleEviction() {
+        // расписание истекает сразу после обращения и каждый раз перечитывается из БД, где брони ещё нет
+        BookingAvailability evicting = new BookingAvailability(repository, 1000, Duration.ZERO);
+        Booking booking = booking(1L, start, start.plusHours(2));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            evicting.reserve(1L, booking.getStart(), booking.getEnd(), () -> booking);
+            assertThrows(NotAvailableException.class, () -> evicting.reserve(1L, start.plusHours(1), start.plusHours(3),
+                    () -> booking(1L, start.plusHours(1), start.plusHours(3))));
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Booking overlapping = booking(1L, start.plusHours(1), start.plusHours(3));
+        assertEquals(overlapping, evicting.reserve(1L, overlapping.getStart(), overlapping.getEnd(), () -> overlapping));
+    }
+
+    @Test
+    void reserve_concurrentOverlappingRequests_onlyOneShouldWin() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(1);
+        AtomicInteger saved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new CopyOnWriteArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                LocalDateTime from = start.plusMinutes(i);
+                futures.add(executor.submit(() -> {
+                    ready.await();
+                    try {
+                        availability.reserve(1L, from, from.plusHours(1), () -> {
+                            saved.incrementAndGet();
+                            return booking(1L, from, from.plusHours(1));
+                        });
+                    } catch (NotAvailableException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            ready.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, saved.get());
+        assertEquals(threads - 1, rejected.get());
+    }
+
+    // имитация транзакции: синхронизации получают исход status, как от менеджера транзакций
+    private static void inTransaction(final Runnable action, final int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+            }
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -12,9 +12,10 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.exceptions.NotFoundException;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.user.dto.UserShortDto;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -27,6 +28,7 @@ import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -63,10 +65,10 @@ public class BookingControllerTest {
         bookingResponse = BookingDto
                 .builder()
                 .id(1L)
-                .item(Item.builder()
+                .item(ItemShortDto.builder()
                         .id(1L)
                         .build())
-                .booker(User.builder().id(1L).build()).status(BookingStatus.WAITING)
+                .booker(UserShortDto.builder().id(1L).build()).status(BookingStatus.WAITING)
                 .start(start)
                 .end(end)
                 .build();
@@ -177,8 +179,8 @@ public class BookingControllerTest {
         int size = 10;
         BookingDto booking1 = BookingDto.builder()
                 .id(2L)
-                .item(Item.builder().id(2L).build())
-                .booker(User.builder()
+                .item(ItemShortDto.builder().id(2L).build())
+                .booker(UserShortDto.builder()
                         .id(2L).build())
                 .start(LocalDateTime.now())
                 .end(LocalDateTime.now().plusHours(1)).status(BookingStatus.REJECTED)
@@ -233,8 +235,8 @@ public class BookingControllerTest {
 
         BookingDto booking2 = BookingDto.builder()
                 .id(2L)
-                .item(Item.builder().id(2L).build())
-                .booker(User.builder().id(2L).build())
+                .item(ItemShortDto.builder().id(2L).build())
+                .booker(UserShortDto.builder().id(2L).build())
                 .start(LocalDateTime.now())
                 .end(LocalDateTime.now().plusHours(1))
                 .status(BookingStatus.APPROVED)
@@ -258,4 +260,20 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[1].booker.id", is(booking2.getBooker().getId().intValue())));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void getAllItemsBookings_WithCursor_ShouldReturnNextCursorHeader() throws Exception {
+        when(bookingService.getPage(anyLong(), anyString(), anyBoolean(), anyString(), anyInt()))
+                .thenReturn(new BookingPageDto(List.of(bookingResponse), "next"));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "ALL")
+                        .param("cursor", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(1)));
+    }
+
+}
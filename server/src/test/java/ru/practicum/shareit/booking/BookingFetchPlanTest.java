@@ -0,0 +1,145 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.ItemRepositoryDb;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserIdRegistry;
+import ru.practicum.shareit.user.UserRepositoryDb;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class BookingFetchPlanTest {
+    private static final int ITEMS = 10;
+    private static final int BOOKERS = 10;
+    private static final int PAGE = 50;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepositoryDb itemRepository;
+    @Autowired
+    private UserRepositoryDb userRepository;
+    @Autowired
+    private UserIdRegistry userIdRegistry;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate.executeWithoutResult(status -> {
+            owner = userRepository.save(User.builder().name("owner").email("owner@mail.ru").build());
+            List<User> bookers = new ArrayList<>();
+            for (int i = 0; i < BOOKERS; i++) {
+                bookers.add(userRepository.save(User.builder().name("booker" + i).email("booker" + i + "@mail.ru").build()));
+            }
+            booker = bookers.get(0);
+            List<Item> items = new ArrayList<>();
+            for (int i = 0; i < ITEMS; i++) {
+                items.add(itemRepository.save(Item.builder().owner(owner).name("item" + i)
+                        .description("desc" + i).available(true).build()));
+            }
+            LocalDateTime start = LocalDateTime.now().minusDays(PAGE);
+            for (int i = 0; i < PAGE; i++) {
+                bookingRepository.save(Booking.builder()
+                        .item(items.get(i % ITEMS))
+                        .booker(bookers.get(i % BOOKERS))
+                        .status(BookingStatus.APPROVED)
+                        .start(start.plusDays(i))
+                        .end(start.plusDays(i).plusHours(1))
+                        .build());
+            }
+        });
+        userIdRegistry.rebuild();
+    }
+
+    @Test
+    void getAll_owner_shouldLoadItemsOwnersAndBookersInOneQuery() {
+        coldStatistics();
+
+        List<BookingDto> bookings = bookingService.getAll(owner.getId(), "ALL", true, 0, PAGE);
+
+        assertEquals(PAGE, bookings.size());
+        bookings.forEach(booking -> {
+            assertTrue(booking.getItem().getName().startsWith("item"));
+            assertTrue(booking.getBooker().getName().startsWith("booker"));
+        });
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAll_booker_shouldLoadItemsOwnersAndBookersInOneQuery() {
+        coldStatistics();
+
+        List<BookingDto> bookings = bookingService.getAll(booker.getId(), "ALL", false, 0, PAGE);
+
+        assertEquals(PAGE / BOOKERS, bookings.size());
+        bookings.forEach(booking -> assertEquals("booker0", booking.getBooker().getName()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void get_shouldLoadBookingWithItemOwnerAndBooker() {
+        Long bookingId = bookingService.getAll(owner.getId(), "ALL", true, 0, 1).get(0).getId();
+        coldStatistics();
+
+        BookingDto booking = bookingService.get(bookingId, owner.getId());
+
+        assertTrue(booking.getItem().getName().startsWith("item"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+    void getAll_owner_latency() {
+        int rounds = Integer.getInteger("shareit.benchmark.rounds", 500);
+        for (int i = 0; i < rounds / 10; i++) {
+            bookingService.getAll(owner.getId(), "ALL", true, 0, PAGE);
+        }
+        coldStatistics();
+        long started = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            emf.getCache().evictAll();
+            bookingService.getAll(owner.getId(), "ALL", true, 0, PAGE);
+        }
+        double micros = (System.nanoTime() - started) / 1_000.0 / rounds;
+        log.info("/bookings/owner?state=ALL, {} bookings: {} statements per call, {} us per call",
+                PAGE, statistics.getPrepareStatementCount() / rounds, Math.round(micros));
+    }
+
+    // кэш второго уровня прячет догрузку связей, поэтому меряем с холодным
+    private void coldStatistics() {
+        emf.getCache().evictAll();
+        statistics.clear();
+    }
+}
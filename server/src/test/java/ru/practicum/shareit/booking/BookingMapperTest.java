@@ -45,8 +45,10 @@ class BookingMapperTest {
         BookingDto bookingDto = mapper.toBookingDto(booking);
 
         assertEquals(booking.getBookingId(), bookingDto.getId());
-        assertEquals(booking.getItem(), bookingDto.getItem());
-        assertEquals(booking.getBooker(), bookingDto.getBooker());
+        assertEquals(booking.getItem().getId(), bookingDto.getItem().getId());
+        assertEquals(booking.getItem().getName(), bookingDto.getItem().getName());
+        assertEquals(booking.getBooker().getId(), bookingDto.getBooker().getId());
+        assertEquals(booking.getBooker().getName(), bookingDto.getBooker().getName());
         assertEquals(booking.getStart(), bookingDto.getStart());
         assertEquals(booking.getEnd(), bookingDto.getEnd());
         assertEquals(booking.getStatus(), bookingDto.getStatus());
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.JacksonConfig;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.user.dto.UserShortDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Размер ответа и время сериализации страницы из 100 бронирований.
+ * Запуск: mvn test -Dtest=BookingPageSerializationTest -Dshareit.benchmark=true
+ */
+@Slf4j
+@JsonTest
+@Import(JacksonConfig.class)
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+class BookingPageSerializationTest {
+    private static final int PAGE = 100;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void bookingPage_sizeAndSerializationTime() throws Exception {
+        List<BookingDto> page = page();
+        int rounds = Integer.getInteger("shareit.benchmark.rounds", 20_000);
+        for (int i = 0; i < rounds; i++) {
+            objectMapper.writeValueAsBytes(page);
+        }
+        long started = System.nanoTime();
+        int size = 0;
+        for (int i = 0; i < rounds; i++) {
+            size = objectMapper.writeValueAsBytes(page).length;
+        }
+        long micros = (System.nanoTime() - started) / 1_000 / rounds;
+        log.info("{} bookings: {} bytes, {} us per serialization", PAGE, size, micros);
+    }
+
+    private static List<BookingDto> page() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        List<BookingDto> page = new ArrayList<>(PAGE);
+        for (long i = 0; i < PAGE; i++) {
+            page.add(BookingDto.builder()
+                    .id(i)
+                    .start(start.plusDays(i))
+                    .end(start.plusDays(i).plusHours(3))
+                    .status(BookingStatus.APPROVED)
+                    .item(new ItemShortDto(i % 10, "Дрель " + i % 10))
+                    .booker(new UserShortDto(100 + i, "Арендатор " + i))
+                    .build());
+        }
+        return page;
+    }
+}
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@Import(BookingPhaseSweeper.class)
+class BookingPhaseSweeperTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingPhaseSweeper sweeper;
+    @SpyBean
+    private TransactionTemplate transactionTemplate;
+
+    private User owner;
+    private User booker;
+    private Booking past;
+    private Booking current;
+    private Booking future;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(User.builder().name("owner").email("owner@mail.ru").build());
+        booker = entityManager.persist(User.builder().name("booker").email("booker@mail.ru").build());
+        Item item = entityManager.persist(Item.builder().owner(owner).name("item").description("desc").available(true).build());
+        LocalDateTime now = LocalDateTime.now();
+        past = entityManager.persist(booking(item, now.minusDays(2), now.minusDays(1)));
+        current = entityManager.persist(booking(item, now.minusHours(1), now.plusHours(1)));
+        future = entityManager.persist(booking(item, now.plusDays(1), now.plusDays(2)));
+        entityManager.flush();
+    }
+
+    @Test
+    void persist_shouldClassifyByDatesAndCopyOwner() {
+        assertThat(past.getPhase()).isEqualTo(BookingPhase.PAST);
+        assertThat(current.getPhase()).isEqualTo(BookingPhase.CURRENT);
+        assertThat(future.getPhase()).isEqualTo(BookingPhase.FUTURE);
+        assertThat(future.getOwnerId()).isEqualTo(owner.getId());
+    }
+
+    @Test
+    void sweep_shouldAdvanceBookingsWhoseBoundaryPassed() {
+        // так выглядят строки после миграции или вставки мимо приложения: фаза по умолчанию
+        entityManager.getEntityManager()
+                .createNativeQuery("update bookings set phase = 'FUTURE'")
+                .executeUpdate();
+
+        sweeper.sweep();
+        entityManager.clear();
+
+        assertThat(phaseOf(past)).isEqualTo(BookingPhase.PAST);
+        assertThat(phaseOf(current)).isEqualTo(BookingPhase.CURRENT);
+        assertThat(phaseOf(future)).isEqualTo(BookingPhase.FUTURE);
+    }
+
+    @Test
+    void sweep_nothingDue_shouldNotOpenTransaction() {
+        sweeper.sweep();
+
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    void sweep_shouldEndCurrentBookings() {
+        entityManager.getEntityManager()
+                .createNativeQuery("update bookings set end_time = ?1 where booking_id = ?2")
+                .setParameter(1, LocalDateTime.now().minusMinutes(1))
+                .setParameter(2, current.getBookingId())
+                .executeUpdate();
+
+        sweeper.sweep();
+        entityManager.clear();
+
+        assertThat(phaseOf(current)).isEqualTo(BookingPhase.PAST);
+        List<Long> pastForBooker = bookingRepository.findPage(booker.getId(), false, State.PAST, 0, 10).stream()
+                .map(dto -> dto.getId())
+                .collect(Collectors.toList());
+        assertThat(pastForBooker).containsExactly(current.getBookingId(), past.getBookingId());
+        assertThat(bookingRepository.findPage(owner.getId(), true, State.CURRENT, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void update_shouldReclassifyStalePhase() {
+        Booking loaded = bookingRepository.findById(future.getBookingId()).orElseThrow();
+        loaded.setStart(LocalDateTime.now().minusMinutes(5));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(phaseOf(future)).isEqualTo(BookingPhase.CURRENT);
+    }
+
+    @Test
+    void of_shouldPutBoundariesIntoLaterPhase() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(BookingPhase.of(now, now.plusHours(1), now)).isEqualTo(BookingPhase.CURRENT);
+        assertThat(BookingPhase.of(now.minusHours(1), now, now)).isEqualTo(BookingPhase.PAST);
+        assertThat(BookingPhase.of(now.plusSeconds(1), now.plusHours(1), now)).isEqualTo(BookingPhase.FUTURE);
+    }
+
+    private BookingPhase phaseOf(final Booking booking) {
+        return entityManager.find(Booking.class, booking.getBookingId()).getPhase();
+    }
+
+    private Booking booking(final Item item, final LocalDateTime start, final LocalDateTime end) {
+        return Booking.builder().item(item).booker(booker).status(BookingStatus.APPROVED).start(start).end(end).build();
+    }
+}
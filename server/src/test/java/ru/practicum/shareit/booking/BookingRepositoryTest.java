@@ -5,11 +5,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -99,190 +96,45 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    public void testFindAllByBookerId_CorrectValues_ShouldReturnList() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> resultPage = bookingRepository.findAllByBookerId(u1.getId(), pageable);
-
-        assertThat(resultPage).isNotEmpty();
-        assertThat(resultPage.getContent()).hasSize(2);
-        assertThat(resultPage.getContent()).contains(b2, b3);
-    }
-
-    @Test
-    public void testFindAllByBookerIdAndStatus_CorrectValues_ShouldReturnList() {
-        BookingStatus status = BookingStatus.WAITING;
-        Pageable pageable = PageRequest.of(0, 10);
-
-        Page<Booking> resultPage = bookingRepository.findAllByBookerIdAndStatus(u1.getId(), status, pageable);
-
-        assertThat(resultPage).isNotEmpty();
-        assertThat(resultPage.getContent()).hasSize(2);
-        assertThat(resultPage.getContent()).contains(b2, b3);
-    }
-
-    @Test
-    void testFindAllByBookerId_NonExistsUser_ShouldReturnEmptyList() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> resultPage = bookingRepository.findAllByBookerId(-10L, pageable);
-
-        assertThat(resultPage).isEmpty();
-        assertThat(resultPage.getContent()).hasSize(0);
-    }
-
-    @Test
-    public void testFindAllByBookerIdAndEndBefore_CorrectValues_ShouldReturnList() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> resultPage = bookingRepository.findAllByBookerIdAndEndBefore(u1.getId(), LocalDateTime.now().plusDays(7), pageable);
-
-        assertThat(resultPage).isNotEmpty();
-        assertThat(resultPage.getContent()).hasSize(2);
-        assertThat(resultPage.getContent()).contains(b2, b3);
-    }
-
-    @Test
-    public void testFindAllByBookerIdAndEndBefore_CorrectValues_ShouldReturnOnlyOneBooking() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> resultPage = bookingRepository.findAllByBookerIdAndEndBefore(u1.getId(), LocalDateTime.now().plusDays(2).plusHours(1), pageable);
-
-        assertThat(resultPage).isNotEmpty();
-        assertThat(resultPage.getContent()).hasSize(1);
-        assertThat(resultPage.getContent()).contains(b2);
-    }
-
-    @Test
-    public void testFindAllByBookerIdAndStartAfter_CorrectValues_ShouldReturnList() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> resultPage = bookingRepository.findAllByBookerIdAndStartAfter(u1.getId(), LocalDateTime.now(), pageable);
-
-        assertThat(resultPage).isNotEmpty();
-        assertThat(resultPage.getContent()).hasSize(2);
-        assertThat(resultPage.getContent()).contains(b2, b3);
-    }
-
-    @Test
-    public void testFindAllByBookerIdAndStartAfter_CorrectValues_ShouldReturnOneBooking() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> resultPage = bookingRepository.findAllByBookerIdAndStartAfter(u1.getId(), LocalDateTime.now().plusDays(1).plusHours(3), pageable);
-
-        assertThat(resultPage).isNotEmpty();
-        assertThat(resultPage.getContent()).hasSize(1);
-        assertThat(resultPage.getContent()).contains(b3);
-    }
-
-    @Test
-    public void testFindAllByBookerIdAndStartAfter_CorrectValues_ShouldReturnEmptyList() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> resultPage = bookingRepository.findAllByBookerIdAndStartAfter(u1.getId(), LocalDateTime.now().plusDays(7), pageable);
-
-        assertThat(resultPage).isEmpty();
-        assertThat(resultPage.getContent()).hasSize(0);
-    }
-
-    @Test
-    public void testFindAllByBookerIdAndStartBeforeAndEndAfter_CorrectData_ShouldReturnOneBooking() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> resultPage = bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfter(u1.getId(), LocalDateTime.now().plusDays(2), LocalDateTime.now().plusDays(2).plusHours(4), pageable);
-
-        assertThat(resultPage).isNotEmpty();
-        assertThat(resultPage.getContent()).hasSize(1);
-        assertThat(resultPage.getContent()).contains(b3);
-    }
-
-    @Test
-    public void testFindAllByItemOwnerIdAndStatus_CorrectData_ShouldReturnOneBooking() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> resultPage = bookingRepository.findAllByItemOwnerIdAndStatus(i1.getOwner().getId(), BookingStatus.WAITING, pageable);
-
-        assertThat(resultPage).isNotEmpty();
-        assertThat(resultPage.getContent()).hasSize(1);
-        assertThat(resultPage.getContent()).contains(b1);
-    }
-
-    @Test
-    public void testFindAllByItemOwnerIdAndEndBefore_ShouldReturnList() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> resultPage = bookingRepository.findAllByItemOwnerIdAndEndBefore(i2.getOwner().getId(), LocalDateTime.now().plusDays(7), pageable);
-
-        assertThat(resultPage).isNotEmpty();
-        assertThat(resultPage.getContent()).hasSize(2);
-        assertThat(resultPage.getContent()).contains(b2, b3);
-    }
-
-    @Test
-    public void testFindAllByItemOwnerIdAndEndBefore_ShouldReturnOnlyOne() {
-
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> resultPage = bookingRepository.findAllByItemOwnerIdAndEndBefore(i2.getOwner().getId(), LocalDateTime.now().plusDays(2).plusHours(1), pageable);
-
-        assertThat(resultPage).isNotEmpty();
-        assertThat(resultPage.getContent()).hasSize(1);
-        assertThat(resultPage.getContent()).contains(b2);
-    }
-
-    @Test
-    public void testFindAllByItemOwnerIdAndEndBefore_ShouldReturnEmptyList() {
-
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> resultPage = bookingRepository.findAllByItemOwnerIdAndEndBefore(i2.getOwner().getId(), LocalDateTime.now(), pageable);
-
-        assertThat(resultPage).isEmpty();
-        assertThat(resultPage.getContent()).hasSize(0);
+    void existsByBookerIdAndEndBeforeAndStatus_ShouldExist() {
+        Boolean exist = bookingRepository.existsByBookerIdAndEndBeforeAndStatus(u1.getId(), LocalDateTime.now().plusDays(7), BookingStatus.WAITING);
+        assertThat(exist).isTrue();
     }
 
     @Test
-    public void testFindAllByItemOwnerIdAndStartAfter_ShouldReturnList() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> resultPage = bookingRepository.findAllByItemOwnerIdAndStartAfter(i2.getOwner().getId(), LocalDateTime.now(), pageable);
-
-        assertThat(resultPage).isNotEmpty();
-        assertThat(resultPage.getContent()).hasSize(2);
-        assertThat(resultPage.getContent()).contains(b2, b3);
+    void existsByBookerIdAndEndBeforeAndStatus_ShouldNotExist() {
+        Boolean exist = bookingRepository.existsByBookerIdAndEndBeforeAndStatus(-1L, LocalDateTime.now(), BookingStatus.WAITING);
+        assertThat(exist).isFalse();
     }
 
     @Test
-    public void testFindAllByItemOwnerIdAndStartAfter_ShouldReturnOnlyOne() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> resultPage = bookingRepository.findAllByItemOwnerIdAndStartAfter(i2.getOwner().getId(), LocalDateTime.now().plusDays(1).plusHours(10), pageable);
+    void findLastBookings_ShouldReturnLatestStartedBookingPerItem() {
+        LocalDateTime now = LocalDateTime.now().plusDays(1).plusHours(12);
+        List<BookingItemDto> bookings = bookingRepository.findLastBookings(List.of(i1.getId(), i2.getId()), now);
 
-        assertThat(resultPage).isNotEmpty();
-        assertThat(resultPage.getContent()).hasSize(1);
-        assertThat(resultPage.getContent()).contains(b3);
+        assertThat(bookings).hasSize(2);
+        assertThat(bookings).extracting(BookingItemDto::getId).containsExactlyInAnyOrder(b1.getBookingId(), b2.getBookingId());
     }
 
     @Test
-    public void testFindAllByItemOwnerIdAndStartBeforeAndEndAfter_ShouldReturnOnlyOne() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> resultPage = bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfter(i2.getOwner().getId(), LocalDateTime.now().plusDays(1).plusHours(1), LocalDateTime.now(), pageable);
+    void findNextBookings_ShouldReturnNearestNotRejectedBookingPerItem() {
+        b2.setStatus(BookingStatus.REJECTED);
+        entityManager.persistAndFlush(b2);
 
-        assertThat(resultPage).isNotEmpty();
-        assertThat(resultPage.getContent()).hasSize(1);
-        assertThat(resultPage.getContent()).contains(b2);
-    }
+        List<BookingItemDto> bookings = bookingRepository.findNextBookings(List.of(i1.getId(), i2.getId()),
+                LocalDateTime.now(), BookingStatus.REJECTED);
 
-    @Test
-    void findByItemId_CorrectValues_ShouldReturnList() {
-        List<Booking> bookings = bookingRepository.findByItemId(i2.getId(), Sort.by(Sort.Direction.ASC, "start"));
         assertThat(bookings).hasSize(2);
-        assertThat(bookings).contains(b2,b3);
-    }
-
-    @Test
-    void findByItemId_CorrectValues_ShouldReturnOnlyOne() {
-        List<Booking> bookings = bookingRepository.findByItemId(i1.getId(), Sort.by(Sort.Direction.ASC, "start"));
-        assertThat(bookings).hasSize(1);
-        assertThat(bookings).contains(b1);
+        assertThat(bookings).extracting(BookingItemDto::getId).containsExactlyInAnyOrder(b1.getBookingId(), b3.getBookingId());
+        assertThat(bookings).extracting(BookingItemDto::getBookerId).containsExactlyInAnyOrder(u2.getId(), u1.getId());
     }
 
     @Test
-    void existsByBookerIdAndEndBeforeAndStatus_ShouldExist() {
-        Boolean exist = bookingRepository.existsByBookerIdAndEndBeforeAndStatus(u1.getId(), LocalDateTime.now().plusDays(7), BookingStatus.WAITING);
-        assertThat(exist).isTrue();
-    }
+    void findNextBookings_NoFutureBookings_ShouldReturnEmptyList() {
+        List<BookingItemDto> bookings = bookingRepository.findNextBookings(List.of(i1.getId(), i2.getId()),
+                LocalDateTime.now().plusDays(7), BookingStatus.REJECTED);
 
-    @Test
-    void existsByBookerIdAndEndBeforeAndStatus_ShouldNotExist() {
-        Boolean exist = bookingRepository.existsByBookerIdAndEndBeforeAndStatus(-1L, LocalDateTime.now(), BookingStatus.WAITING);
-        assertThat(exist).isFalse();
+        assertThat(bookings).isEmpty();
     }
 
 }
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +14,7 @@ import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.ItemRepositoryDb;
 import ru.practicum.shareit.item.dto.ItemCreationDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserIdRegistry;
 import ru.practicum.shareit.user.UserRepositoryDb;
 import ru.practicum.shareit.user.dto.UserCreationDto;
 import ru.practicum.shareit.user.model.User;
@@ -36,6 +38,7 @@ public class BookingServiceImplMockTest {
     private final ItemRepositoryDb itemRepository;
     @MockBean
     private final UserRepositoryDb userRepository;
+    private final UserIdRegistry userIdRegistry;
 
     private final BookingMapper mapper = new BookingMapper();
 
@@ -77,9 +80,15 @@ public class BookingServiceImplMockTest {
             .end(LocalDateTime.now().plusHours(2))
             .status(BookingStatus.WAITING).build();
 
+    // контекст общий для тестов: сбрасываем id, запомненные реестром в предыдущих
+    @BeforeEach
+    void resetRegistry() {
+        userIdRegistry.rebuild();
+    }
+
     @Test
     void createBooking_correctData_shouldReturnDto() {
-        Mockito.when(itemRepository.findById(anyLong()))
+        Mockito.when(itemRepository.findWithOwnerById(anyLong()))
                 .thenReturn(Optional.of(item1));
         Mockito.when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user2));
@@ -92,7 +101,7 @@ public class BookingServiceImplMockTest {
 
     @Test
     void createBooking_bookingByYourself_shouldReturnNotFoundException() {
-        Mockito.when(itemRepository.findById(anyLong()))
+        Mockito.when(itemRepository.findWithOwnerById(anyLong()))
                 .thenReturn(Optional.of(item1));
         Mockito.when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user1));
@@ -104,7 +113,7 @@ public class BookingServiceImplMockTest {
 
     @Test
     void createBooking_IncorrectItemId_shouldReturnNotFoundException() {
-        Mockito.when(itemRepository.findById(anyLong()))
+        Mockito.when(itemRepository.findWithOwnerById(anyLong()))
                 .thenReturn(Optional.empty());
         Mockito.when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user2));
@@ -123,7 +132,7 @@ public class BookingServiceImplMockTest {
                 .build();
         input.setStart(LocalDateTime.now().plusDays(20));
 
-        Mockito.when(itemRepository.findById(anyLong()))
+        Mockito.when(itemRepository.findWithOwnerById(anyLong()))
                 .thenReturn(Optional.of(item1));
         Mockito.when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user2));
@@ -144,7 +153,7 @@ public class BookingServiceImplMockTest {
     void createBooking_notAvailableItem_shouldReturnNotAvailableException() {
         var outputItem = Item.builder().owner(user1).available(true).description("desc1").name("item1").id(1L).build();
         outputItem.setAvailable(false);
-        Mockito.when(itemRepository.findById(anyLong()))
+        Mockito.when(itemRepository.findWithOwnerById(anyLong()))
                 .thenReturn(Optional.of(outputItem));
         Mockito.when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user2));
@@ -10,6 +10,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.exceptions.NotAvailableException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.StateNotSupportException;
@@ -21,7 +22,9 @@ import ru.practicum.shareit.user.dto.UserCreationDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -88,14 +91,15 @@ class BookingServiceImplTest {
     @Test
     void addBooking_CorrectData_shouldReturnDto() {
         BookingCreationDto bookingEntryDto = BookingCreationDto.builder().itemId(item1.getId())
-                .start(LocalDateTime.now().minusHours(1))
-                .end(LocalDateTime.now())
+                .start(LocalDateTime.now().plusHours(2))
+                .end(LocalDateTime.now().plusHours(3))
                 .build();
 
         var actual = bookingService.create(bookingEntryDto, 2L);
         assertEquals(bookingEntryDto.getStart(), actual.getStart());
         assertEquals(bookingEntryDto.getEnd(), actual.getEnd());
-        assertEquals(user2, actual.getBooker());
+        assertEquals(user2.getId(), actual.getBooker().getId());
+        assertEquals(user2.getName(), actual.getBooker().getName());
         assertEquals(BookingStatus.WAITING, actual.getStatus());
 
         List<BookingDto> testBookings1 = bookingService.getAll(1L, "WAITING", true, 0, 10);
@@ -198,9 +202,9 @@ class BookingServiceImplTest {
         BookingDto bookingDto = bookingService.get(1L, 1L);
         assertEquals(1L, bookingDto.getId());
         assertEquals(1L, bookingDto.getItem().getId());
-        assertEquals(user2, bookingDto.getBooker());
-        assertEquals(user1, bookingDto.getItem().getOwner());
-        assertEquals(item1, bookingDto.getItem());
+        assertEquals(user2.getId(), bookingDto.getBooker().getId());
+        assertEquals(user2.getName(), bookingDto.getBooker().getName());
+        assertEquals(item1.getName(), bookingDto.getItem().getName());
         assertEquals(BookingStatus.WAITING, bookingDto.getStatus());
         assertTrue(LocalDateTime.now().isBefore(bookingDto.getEnd()));
         assertTrue(LocalDateTime.now().isAfter(bookingDto.getStart()));
@@ -230,7 +234,8 @@ class BookingServiceImplTest {
         List<BookingDto> onlyOne = bookingService.getAll(2L, "REJECTED", true, 0, 10);
         assertEquals(1, onlyOne.size());
         assertEquals(2L, onlyOne.get(0).getId());
-        assertEquals(item2, onlyOne.get(0).getItem());
+        assertEquals(item2.getId(), onlyOne.get(0).getItem().getId());
+        assertEquals(item2.getName(), onlyOne.get(0).getItem().getName());
     }
 
     @Test
@@ -296,5 +301,83 @@ class BookingServiceImplTest {
         assertEquals(3L, testBookingStatusFuture.get(0).getId());
     }
 
-}
+    @Test
+    void addBooking_OverlappingDates_shouldReturnNotAvailableException() {
+        BookingCreationDto overlapping = BookingCreationDto.builder().itemId(item1.getId())
+                .start(LocalDateTime.now().plusMinutes(30))
+                .end(LocalDateTime.now().plusHours(3))
+                .build();
+
+        assertThrows(NotAvailableException.class, () -> bookingService.create(overlapping, 2L));
+
+        // берём конец брони из базы: в памяти у него могут быть наносекунды, которые БД округлила
+        LocalDateTime booking1End = bookingRepository.findById(booking1.getBookingId()).orElseThrow().getEnd();
+        BookingCreationDto adjacent = BookingCreationDto.builder().itemId(item1.getId())
+                .start(booking1End)
+                .end(booking1End.plusHours(1))
+                .build();
+        assertEquals(BookingStatus.WAITING, bookingService.create(adjacent, 2L).getStatus());
+        assertThrows(NotAvailableException.class, () -> bookingService.create(adjacent, 2L));
+    }
+
+    @Test
+    void addBooking_AfterRejection_shouldReserveDates() {
+        BookingCreationDto overlapping = BookingCreationDto.builder().itemId(item1.getId())
+                .start(LocalDateTime.now().plusMinutes(30))
+                .end(LocalDateTime.now().plusHours(3))
+                .build();
+        bookingService.updateStatus(booking1.getBookingId(), 1L, false);
 
+        BookingDto created = bookingService.create(overlapping, 2L);
+        assertEquals(BookingStatus.WAITING, created.getStatus());
+        assertThrows(NotAvailableException.class, () -> bookingService.updateStatus(booking1.getBookingId(), 1L, true));
+    }
+
+    @Test
+    void getPage_ByCursor_shouldWalkAllBookingsWithoutGaps() {
+        LocalDateTime sameStart = LocalDateTime.now().plusDays(3).withNano(0);
+        for (int i = 0; i < 3; i++) {
+            bookingRepository.save(Booking.builder()
+                    .item(item2)
+                    .booker(user1)
+                    .start(sameStart)
+                    .end(sameStart.plusHours(1))
+                    .status(BookingStatus.WAITING).build());
+        }
+        List<Long> expected = bookingService.getAll(1L, "ALL", false, 0, 100).stream()
+                .map(BookingDto::getId).sorted().collect(Collectors.toList());
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            BookingPageDto page = bookingService.getPage(1L, "ALL", false, cursor, 2);
+            page.getBookings().forEach(b -> walked.add(b.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(5, walked.size());
+        assertEquals(expected, walked.stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    void getPage_ByState_shouldFilterLikeOffsetMode() {
+        BookingPageDto waiting = bookingService.getPage(2L, "WAITING", true, "", 10);
+        assertEquals(bookingService.getAll(2L, "WAITING", true, 0, 10), waiting.getBookings());
+        assertNull(waiting.getNextCursor());
+
+        BookingPageDto current = bookingService.getPage(2L, "CURRENT", false, "", 10);
+        assertEquals(List.of(booking1.getBookingId()), current.getBookings().stream()
+                .map(BookingDto::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void getPage_InvalidCursor_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> bookingService.getPage(1L, "ALL", false, "not a cursor", 10));
+        assertThrows(StateNotSupportException.class, () -> bookingService.getPage(1L, "UNKNOWN", false, "", 10));
+        assertThrows(NotFoundException.class, () -> bookingService.getPage(-99L, "ALL", false, "", 10));
+    }
+
+}
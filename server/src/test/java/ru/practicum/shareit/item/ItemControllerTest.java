@@ -12,11 +12,15 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ru.practicum.shareit.booking.dto.BookingPeriodDto;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.bulk.ItemBulkImporter;
 import ru.practicum.shareit.item.comments.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemCreationDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -39,6 +43,9 @@ public class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ItemBulkImporter bulkImporter;
+
     @Autowired
     ObjectMapper mapper;
 
@@ -205,4 +212,47 @@ public class ItemControllerTest {
                 .andExpect(status().isOk());
 
     }
+
+    @Test
+    public void getAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusDays(1);
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder()
+                .itemId(1L)
+                .from(from)
+                .to(to)
+                .available(false)
+                .bookings(List.of(new BookingPeriodDto(from.plusHours(1), from.plusHours(2))))
+                .build();
+
+        when(itemService.getAvailability(1L, from, to)).thenReturn(availability);
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/1/availability")
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-02T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available").value(false))
+                .andExpect(jsonPath("$.bookings", hasSize(1)));
+    }
+
+    @Test
+    public void createItemsBulk_UnknownUser_shouldReturnNotFound() throws Exception {
+        Mockito.doThrow(new NotFoundException("User with id = 99 is not found"))
+                .when(bulkImporter).open(ArgumentMatchers.eq(99L), any(), any());
+
+        mockMvc.perform(post("/items/bulk")
+                        .header("X-Sharer-User-Id", 99L)
+                        .contentType("application/x-ndjson")
+                        .content("{\"name\":\"drill\",\"description\":\"drill\",\"available\":true}\n"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void createItemsBulk_UnsupportedContentType_shouldReturnUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/items/bulk")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<items/>"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
 }
@@ -6,7 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.json.JsonTest;
 import org.springframework.test.context.ActiveProfiles;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.dto.UserShortDto;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -19,10 +19,9 @@ public class ItemDtoJsonTest {
 
     @Test
     public void testSerializeToJson() throws JsonProcessingException {
-        User owner = User.builder()
+        UserShortDto owner = UserShortDto.builder()
                 .id(1L)
                 .name("John Doe")
-                .email("johndoe@example.com")
                 .build();
 
         ItemDto itemDto = ItemDto.builder()
@@ -35,7 +34,7 @@ public class ItemDtoJsonTest {
                 .build();
 
         String expectedJson = "{\"id\":1,\"name\":\"TestItem\",\"description\":\"TestItem\"," +
-                "\"available\":true,\"owner\":{\"id\":1,\"email\":\"johndoe@example.com\",\"name\":\"John Doe\"},\"lastBooking\":null,\"nextBooking\":null,\"requestId\":2,\"comments\":null}";
+                "\"available\":true,\"owner\":{\"id\":1,\"name\":\"John Doe\"},\"lastBooking\":null,\"nextBooking\":null,\"requestId\":2,\"comments\":null}";
         String actualJson = objectMapper.writeValueAsString(itemDto);
 
         assertEquals(expectedJson, actualJson);
@@ -43,12 +42,11 @@ public class ItemDtoJsonTest {
 
     @Test
     public void testDeserializeFromJson() throws JsonProcessingException {
-        String json = "{\"id\":1,\"name\":\"Item\",\"description\":\"This is an item\",\"available\":true,\"owner\":{\"id\":1,\"name\":\"John Doe\",\"email\":\"johndoe@example.com\"},\"requestId\":2}";
+        String json = "{\"id\":1,\"name\":\"Item\",\"description\":\"This is an item\",\"available\":true,\"owner\":{\"id\":1,\"name\":\"John Doe\"},\"requestId\":2}";
 
-        User owner = User.builder()
+        UserShortDto owner = UserShortDto.builder()
                 .id(1L)
                 .name("John Doe")
-                .email("johndoe@example.com")
                 .build();
 
         ItemDto expectedItemDto = ItemDto.builder()
@@ -19,7 +19,8 @@ public class ItemMapperTest {
 
         assertEquals(item.getId(), itemDto.getId());
         assertEquals(item.getName(), itemDto.getName());
-        assertEquals(item.getOwner(), itemDto.getOwner());
+        assertEquals(item.getOwner().getId(), itemDto.getOwner().getId());
+        assertEquals(item.getOwner().getName(), itemDto.getOwner().getName());
         assertEquals(item.getDescription(), itemDto.getDescription());
         assertEquals(item.getAvailable(), itemDto.getAvailable());
         assertNull(itemDto.getRequestId());
@@ -118,4 +118,18 @@ public class ItemRepositoryTest {
         assertThat(items.get(1).getDescription()).isEqualTo(item2.getDescription());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testSearchIdsByText() {
+        Item item1 = Item.builder().name("Дрель").description("Эллектрическая дрель").available(true).build();
+        entityManager.persist(item1);
+        Item item2 = Item.builder().name("Отвертка").description("Hammerdrill").available(true).build();
+        entityManager.persist(item2);
+        Item item3 = Item.builder().name("Ручная Дрель").description("Ручная дрель").available(false).build();
+        entityManager.persist(item3);
+        entityManager.flush();
+
+        assertThat(itemRepository.searchIdsByText("дрел")).containsExactly(item1.getId());
+        assertThat(itemRepository.searchIdsByText("DRILL")).containsExactly(item2.getId());
+    }
+
+}
@@ -18,6 +18,7 @@ import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.UserRepositoryDb;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserShortDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
@@ -68,7 +69,7 @@ public class ItemServiceImplMockTest {
             .name("item1")
             .available(true)
             .description("desc1")
-            .owner(user1)
+            .owner(new UserShortDto(user1.getId(), user1.getName()))
             .comments(List.of())
             .build();
 
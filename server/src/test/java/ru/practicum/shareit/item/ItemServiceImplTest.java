@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +15,7 @@ import ru.practicum.shareit.exceptions.NotAvailableException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.UserAccessException;
 import ru.practicum.shareit.item.comments.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemCreationDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
@@ -20,6 +23,7 @@ import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserCreationDto;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
@@ -28,7 +32,7 @@ import java.util.NoSuchElementException;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -40,6 +44,8 @@ class ItemServiceImplTest {
 
     private final UserService userService;
 
+    private final EntityManagerFactory entityManagerFactory;
+
     private final LocalDateTime now = (LocalDateTime.now());
 
     User user1 = User.builder()
@@ -129,7 +135,7 @@ class ItemServiceImplTest {
         assertEquals(1, itemsTest.size());
         assertEquals(item1.getDescription(), itemsTest.get(0).getDescription());
         assertEquals(item1.getName(), itemsTest.get(0).getName());
-        assertEquals(item1.getOwner(), itemsTest.get(0).getOwner());
+        assertEquals(item1.getOwner().getId(), itemsTest.get(0).getOwner().getId());
         assertEquals(item1.getId(), itemsTest.get(0).getId());
 
         List<ItemDto> items2Test = itemService.getAll(user2.getId(), 0, 10);
@@ -138,9 +144,33 @@ class ItemServiceImplTest {
         assertEquals(1, items2Test.size());
         assertEquals(item2.getDescription(), items2Test.get(0).getDescription());
         assertEquals(item2.getName(), items2Test.get(0).getName());
-        assertEquals(item2.getOwner(), items2Test.get(0).getOwner());
+        assertEquals(item2.getOwner().getId(), items2Test.get(0).getOwner().getId());
+
 
+    }
 
+    @Test
+    void getAll_manyItems_shouldRunSameNumberOfStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        itemService.getAll(user1.getId(), 0, 100);
+        long singleItemStatements = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 20; i++) {
+            ItemDto item = itemService.create(itemDto1);
+            bookingService.create(BookingCreationDto.builder()
+                    .itemId(item.getId())
+                    .start(now.minusDays(2))
+                    .end(now.minusDays(1))
+                    .build(), user2.getId());
+        }
+        statistics.clear();
+        List<ItemDto> items = itemService.getAll(user1.getId(), 0, 100);
+
+        assertEquals(21, items.size());
+        assertEquals(singleItemStatements, statistics.getPrepareStatementCount());
+        assertTrue(items.stream().allMatch(item -> item.getLastBooking() != null));
     }
 
     @Test
@@ -151,7 +181,8 @@ class ItemServiceImplTest {
         assertEquals(1L, itemDto.getId());
         assertEquals(item1.getName(), itemDto.getName());
         assertEquals(item1.getDescription(), itemDto.getDescription());
-        assertEquals(item1.getOwner(), itemDto.getOwner());
+        assertEquals(item1.getOwner().getId(), itemDto.getOwner().getId());
+        assertEquals(item1.getOwner().getName(), itemDto.getOwner().getName());
         assertEquals(2L, itemDto.getLastBooking().getBookerId());
 
         ItemDto itemDto1 = itemService.get(2L, 1L);
@@ -159,7 +190,7 @@ class ItemServiceImplTest {
         assertEquals(item2.getId(), itemDto1.getId());
         assertEquals(item2.getName(), itemDto1.getName());
         assertEquals(item2.getDescription(), itemDto1.getDescription());
-        assertEquals(item2.getOwner(), itemDto1.getOwner());
+        assertEquals(item2.getOwner().getId(), itemDto1.getOwner().getId());
         assertNull(itemDto1.getLastBooking());
     }
 
@@ -333,4 +364,29 @@ class ItemServiceImplTest {
     void addComment_invalidItem() {
         assertThrows(NotFoundException.class, () -> itemService.addComment(1L, 99L, commentDto1));
     }
+
+    @Test
+    void getAvailability_shouldReturnBookedPeriods() {
+        bookingService.create(BookingCreationDto.builder()
+                .itemId(item1.getId())
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .build(), user2.getId());
+
+        ItemAvailabilityDto busy = itemService.getAvailability(item1.getId(), now, now.plusDays(3));
+        assertFalse(busy.getAvailable());
+        assertEquals(1, busy.getBookings().size());
+        assertEquals(now.plusDays(1), busy.getBookings().get(0).getStart());
+
+        ItemAvailabilityDto free = itemService.getAvailability(item1.getId(), now.plusDays(2), now.plusDays(3));
+        assertTrue(free.getAvailable());
+        assertTrue(free.getBookings().isEmpty());
+    }
+
+    @Test
+    void getAvailability_invalidValues_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> itemService.getAvailability(item1.getId(), now, now));
+        assertThrows(NotFoundException.class, () -> itemService.getAvailability(99L, now, now.plusDays(1)));
+    }
+
 }
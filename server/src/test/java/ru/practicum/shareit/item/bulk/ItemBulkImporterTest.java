@@ -0,0 +1,121 @@
+package ru.practicum.shareit.item.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemRepositoryDb;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserCreationDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "shareit.items.bulk.batch-size=2")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class ItemBulkImporterTest {
+    @Autowired
+    private ItemBulkImporter importer;
+    @Autowired
+    private ItemRepositoryDb itemRepository;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userService.create(UserCreationDto.builder().name("shop").email("shop@email.com").build()).getId();
+    }
+
+    @Test
+    void importItems_Ndjson_shouldSaveValidRowsAndReportEachRow() throws IOException {
+        String body = "{\"name\":\"drill\",\"description\":\"cordless drill\",\"available\":true}\n"
+                + "{\"name\":\"\",\"description\":\"no name\",\"available\":true}\n"
+                + "\n"
+                + "{not json}\n"
+                + "{\"name\":\"saw\",\"description\":\"hand saw\",\"available\":false}\n"
+                + "{\"name\":\"ladder\",\"description\":\"ladder\",\"available\":true,\"requestId\":999}\n";
+
+        List<ItemImportResultDto> results = run(ItemBulkImporter.NDJSON.toString(), body);
+
+        assertEquals(5, results.size());
+        assertEquals(ItemImportResultDto.Status.CREATED, results.get(0).getStatus());
+        assertEquals(ItemImportResultDto.Status.REJECTED, results.get(1).getStatus());
+        assertEquals("name must not be blank", results.get(1).getError());
+        assertEquals(ItemImportResultDto.Status.REJECTED, results.get(2).getStatus());
+        assertEquals(ItemImportResultDto.Status.CREATED, results.get(3).getStatus());
+        assertEquals("Request not exists", results.get(4).getError());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), results.stream().map(ItemImportResultDto::getRow).collect(Collectors.toList()));
+
+        assertEquals(2, itemRepository.count());
+        assertEquals("drill", itemRepository.findById(results.get(0).getItemId()).orElseThrow().getName());
+        // доступные вещи сразу попадают в поисковый индекс
+        assertEquals(1, itemService.search("cordless", 0, 10).size());
+    }
+
+    @Test
+    void importItems_Csv_shouldParseHeaderAndQuotes() throws IOException {
+        String body = "available,name,description\n"
+                + "true,\"Drill, cordless\",\"18V \"\"pro\"\" drill\"\n"
+                + "maybe,saw,hand saw\n"
+                + "false,ladder,\n";
+
+        List<ItemImportResultDto> results = run("text/csv", body);
+
+        assertEquals(3, results.size());
+        assertEquals(ItemImportResultDto.Status.CREATED, results.get(0).getStatus());
+        assertEquals("available must be true or false", results.get(1).getError());
+        assertEquals("description must not be blank", results.get(2).getError());
+        var saved = itemRepository.findById(results.get(0).getItemId()).orElseThrow();
+        assertEquals("Drill, cordless", saved.getName());
+        assertEquals("18V \"pro\" drill", saved.getDescription());
+        assertEquals(userId, saved.getOwner().getId());
+    }
+
+    @Test
+    void open_CsvWithoutRequiredColumn_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> importer.open(userId, MediaType.parseMediaType("text/csv"),
+                new ByteArrayInputStream("name,available\ndrill,true\n".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void importItems_UnknownUser_shouldThrowNotFound() {
+        assertThrows(NotFoundException.class, () -> run(-1L, ItemBulkImporter.NDJSON.toString(), "{}\n"));
+    }
+
+    private List<ItemImportResultDto> run(final String contentType, final String body) throws IOException {
+        return run(userId, contentType, body);
+    }
+
+    private List<ItemImportResultDto> run(final Long owner, final String contentType, final String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ItemRowReader rows = importer.open(owner, MediaType.parseMediaType(contentType),
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        importer.importItems(owner, rows, out);
+        List<ItemImportResultDto> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, ItemImportResultDto.class));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import ru.practicum.shareit.item.ItemRepositoryDb;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ItemSearchIndexTest {
+    private final ItemRepositoryDb itemRepository = mock(ItemRepositoryDb.class);
+
+    private ItemSearchIndex index = new ItemSearchIndex(itemRepository, false);
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findAllByAvailableTrue()).thenReturn(List.of());
+        fill(index);
+    }
+
+    private static void fill(final ItemSearchIndex index) {
+        index.rebuild();
+        index.index(Item.builder().id(1L).name("Отвертка").description("Отвертка для дрели").available(true).build());
+        index.index(Item.builder().id(2L).name("Дрель").description("Дрель аккумуляторная").available(true).build());
+        index.index(Item.builder().id(3L).name("Дрель ручная").description("Старая").available(false).build());
+        index.index(Item.builder().id(4L).name("Перфоратор").description("Hammerdrill").available(true).build());
+    }
+
+    @Test
+    void search_nameMatch_shouldBeRankedFirst() {
+        assertEquals(List.of(2L, 1L), index.search("ДРЕЛ", 0, 10));
+    }
+
+    @Test
+    void search_substring_shouldMatchInsideWords() {
+        assertEquals(List.of(4L), index.search("drill", 0, 10));
+        assertEquals(List.of(2L), index.search("ль акк", 0, 10));
+        assertEquals(List.of(), index.search("дрель стул", 0, 10));
+    }
+
+    @Test
+    void search_shortQuery_shouldMatch() {
+        assertEquals(List.of(4L), index.search("dr", 0, 10));
+    }
+
+    @Test
+    void search_shouldUsePage() {
+        assertEquals(List.of(1L), index.search("дрел", 1, 1));
+        assertEquals(List.of(), index.search("дрел", 2, 1));
+    }
+
+    @Test
+    void index_insideTransaction_shouldApplyOnlyAfterCommit() {
+        Item renamed = Item.builder().id(2L).name("Стул").description("Деревянный").available(true).build();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.index(renamed);
+            assertEquals(List.of(), index.search("стул", 0, 10));
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of(), index.search("стул", 0, 10));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.index(renamed);
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of(2L), index.search("стул", 0, 10));
+    }
+
+    @Test
+    void index_updatedItem_shouldReplaceOldTerms() {
+        index.index(Item.builder().id(2L).name("Стул").description("Деревянный").available(true).build());
+        assertEquals(List.of(1L), index.search("дрел", 0, 10));
+        assertEquals(List.of(2L), index.search("стул", 0, 10));
+
+        index.index(Item.builder().id(2L).name("Стул").description("Деревянный").available(false).build());
+        assertEquals(List.of(), index.search("стул", 0, 10));
+    }
+
+    @Test
+    void rebuild_shouldLoadAvailableItems() {
+        ItemSearchView view = mock(ItemSearchView.class);
+        when(view.getId()).thenReturn(5L);
+        when(view.getName()).thenReturn("Лестница");
+        when(view.getDescription()).thenReturn("Стремянка");
+        when(itemRepository.findAllByAvailableTrue()).thenReturn(List.of(view));
+
+        index.rebuild();
+
+        assertEquals(List.of(5L), index.search("стремянка", 0, 10));
+        assertEquals(List.of(), index.search("дрель", 0, 10));
+    }
+
+    @Test
+    void rebuild_unorderedIds_shouldKeepPostingsSorted() {
+        List<ItemSearchView> views = List.of(view(7L), view(5L), view(6L));
+        when(itemRepository.findAllByAvailableTrue()).thenReturn(views);
+
+        index.rebuild();
+        index.index(Item.builder().id(5L).name("Лестница").description("Стремянка").available(false).build());
+
+        assertEquals(List.of(6L, 7L), index.search("лестница", 0, 10));
+    }
+
+    private static ItemSearchView view(final Long id) {
+        ItemSearchView view = mock(ItemSearchView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getName()).thenReturn("Лестница");
+        when(view.getDescription()).thenReturn("Стремянка");
+        return view;
+    }
+
+    @Test
+    void search_consistencyCheck_shouldQueryDatabase() {
+        index = new ItemSearchIndex(itemRepository, true);
+        fill(index);
+        when(itemRepository.searchIdsByText(anyString())).thenReturn(List.of(1L, 2L));
+
+        assertEquals(List.of(2L, 1L), index.search("дрел", 0, 10));
+        verify(itemRepository).searchIdsByText("дрел");
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NPlusOneDetectorTest {
+    private static final String LOAD_OWNER = "select user0_.user_id as user_id1_4_0_ from users user0_ where user0_.user_id=?";
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final QueryCountingInspector inspector = new QueryCountingInspector();
+
+    @AfterEach
+    void tearDown() {
+        RequestQueryStats.stop();
+    }
+
+    @Test
+    void shape_shouldIgnoreLiteralsParameterListsAndWhitespace() {
+        assertEquals(SqlShape.of("select * from items where owner_id = 1 and name = 'drill'"),
+                SqlShape.of("SELECT *  FROM items\n where owner_id = 42 and name = 'it''s'"));
+        assertEquals(SqlShape.of("select * from items where item_id in (?, ?)"),
+                SqlShape.of("select * from items where item_id in (?,?,?,?)"));
+        assertEquals("select item0_.item_id from items item0_ where item0_.item_id=?",
+                SqlShape.of("select item0_.item_id from items item0_ where item0_.item_id=?"));
+    }
+
+    @Test
+    void check_shouldWarnAndCountRepeatedShape() {
+        RequestQueryStats stats = RequestQueryStats.start();
+        inspector.inspect("select * from items where owner_id=?");
+        for (int i = 0; i < 6; i++) {
+            inspector.inspect(LOAD_OWNER);
+        }
+
+        assertDoesNotThrow(() -> detector(false, List.of()).check("GET", "/items", stats));
+
+        Counter counter = registry.find("shareit.request.n-plus-one").tags("method", "GET", "uri", "/items").counter();
+        assertNotNull(counter);
+        assertEquals(1, counter.count());
+    }
+
+    @Test
+    void check_shouldFailWithReport() {
+        RequestQueryStats stats = RequestQueryStats.start();
+        for (int i = 0; i < 6; i++) {
+            inspector.inspect(LOAD_OWNER);
+        }
+
+        NPlusOneQueryException e = assertThrows(NPlusOneQueryException.class,
+                () -> detector(true, List.of()).check("GET", "/bookings/{bookingId}", stats));
+
+        assertTrue(e.getMessage().contains("GET /bookings/{bookingId}"));
+        assertTrue(e.getMessage().contains("6 x " + LOAD_OWNER));
+    }
+
+    @Test
+    void check_shouldAllowShapesUpToThreshold() {
+        RequestQueryStats stats = RequestQueryStats.start();
+        for (int i = 0; i < 5; i++) {
+            inspector.inspect(LOAD_OWNER);
+        }
+
+        assertDoesNotThrow(() -> detector(true, List.of()).check("GET", "/items", stats));
+        assertNull(registry.find("shareit.request.n-plus-one").counter());
+    }
+
+    @Test
+    void check_shouldSkipIgnoredUris() {
+        RequestQueryStats stats = RequestQueryStats.start();
+        for (int i = 0; i < 10; i++) {
+            inspector.inspect("insert into items (name, item_id) values (?, ?)");
+        }
+
+        assertDoesNotThrow(() -> detector(true, List.of("/items/bulk")).check("POST", "/items/bulk", stats));
+        assertNull(registry.find("shareit.request.n-plus-one").counter());
+    }
+
+    @Test
+    void inspector_shouldNotCountOutsideRequest() {
+        inspector.inspect(LOAD_OWNER);
+
+        assertNull(RequestQueryStats.current());
+    }
+
+    private NPlusOneDetector detector(final boolean fail, final List<String> ignoredUris) {
+        return new NPlusOneDetector(registry, 5, fail, ignoredUris);
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.ItemRepositoryDb;
+import ru.practicum.shareit.item.comments.Comment;
+import ru.practicum.shareit.item.comments.CommentRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserIdRegistry;
+import ru.practicum.shareit.user.UserRepositoryDb;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Списки и карточки по всем связям, где раньше догружалось по строке. Детектор в тестах включён
+ * на падение, так что возвращение N+1 роняет запрос с отчётом по формам SQL.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class NPlusOneEndpointsTest {
+    private static final int ROWS = 10;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private UserRepositoryDb userRepository;
+    @Autowired
+    private ItemRepositoryDb itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private UserIdRegistry userIdRegistry;
+    @Autowired
+    private ItemSearchIndex searchIndex;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private User owner;
+    private User requestor;
+    private Item item;
+    private ItemRequest request;
+    private Booking waiting;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            owner = userRepository.save(User.builder().name("owner").email("owner@mail.ru").build());
+            requestor = userRepository.save(User.builder().name("requestor").email("requestor@mail.ru").build());
+            List<User> bookers = new ArrayList<>();
+            for (int i = 0; i < ROWS; i++) {
+                bookers.add(userRepository.save(User.builder().name("booker" + i).email("booker" + i + "@mail.ru").build()));
+            }
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < ROWS; i++) {
+                ItemRequest itemRequest = itemRequestRepository.save(ItemRequest.builder()
+                        .description("need item" + i).requestor(requestor).build());
+                Item saved = itemRepository.save(Item.builder().owner(owner).name("item" + i)
+                        .description("desc" + i).available(true).request(itemRequest).build());
+                User booker = bookers.get(i);
+                bookingRepository.save(Booking.builder().item(saved).booker(booker).status(BookingStatus.APPROVED)
+                        .start(now.minusDays(2)).end(now.minusDays(1)).build());
+                Booking next = bookingRepository.save(Booking.builder().item(saved).booker(booker)
+                        .status(BookingStatus.WAITING).start(now.plusDays(1)).end(now.plusDays(2)).build());
+                commentRepository.save(Comment.builder().item(saved).author(booker).text("comment" + i)
+                        .created(now).build());
+                if (i == 0) {
+                    item = saved;
+                    request = itemRequest;
+                    waiting = next;
+                }
+            }
+            // у карточки вещи отзывы разных авторов
+            bookers.forEach(author -> commentRepository.save(Comment.builder().item(item).author(author)
+                    .text("review by " + author.getName()).created(now).build()));
+        });
+        userIdRegistry.rebuild();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void itemEndpoints_shouldNotRepeatQueriesPerRow() throws Exception {
+        perform(get("/items"), owner);
+        perform(get("/items/" + item.getId()), owner);
+        perform(get("/items/search").param("text", "item"), requestor);
+    }
+
+    @Test
+    void requestEndpoints_shouldNotRepeatQueriesPerRow() throws Exception {
+        perform(get("/requests"), requestor);
+        perform(get("/requests/all"), owner);
+        perform(get("/requests/" + request.getRequestId()), owner);
+    }
+
+    @Test
+    void bookingEndpoints_shouldNotRepeatQueriesPerRow() throws Exception {
+        perform(get("/bookings/owner").param("state", "ALL").param("size", "50"), owner);
+        perform(get("/bookings").param("state", "ALL"), waiting.getBooker());
+        perform(get("/bookings/" + waiting.getBookingId()), owner);
+        perform(patch("/bookings/" + waiting.getBookingId()).param("approved", "true"), owner);
+    }
+
+    // кэш второго уровня прячет догрузку связей, поэтому каждый запрос идёт с холодным
+    private void perform(final MockHttpServletRequestBuilder request, final User user) throws Exception {
+        emf.getCache().evictAll();
+        mvc.perform(request.header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.UserServiceImpl;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class RequestMetricsTest {
+    private static final String SERVER_TIMING = "app;dur=\\d+\\.\\d, db;desc=\"\\d+ statements, \\d+ entity loads\"";
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void requestsReportServerTimingAndQueryCounters() throws Exception {
+        mvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"user\",\"email\":\"user@mail.ru\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestMetricsFilter.SERVER_TIMING, matchesPattern(SERVER_TIMING)));
+
+        mvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestMetricsFilter.SERVER_TIMING, matchesPattern(SERVER_TIMING)));
+
+        DistributionSummary statements = registry.find("shareit.request.statements")
+                .tags("method", "GET", "uri", "/users")
+                .summary();
+        assertNotNull(statements);
+        assertTrue(statements.totalAmount() >= 1);
+        assertNotNull(registry.find("shareit.request.entity.loads").tags("method", "POST", "uri", "/users").summary());
+    }
+
+    @Test
+    void serviceMethodsAreTimedAndExportedToPrometheus() throws Exception {
+        mvc.perform(get("/users")).andExpect(status().isOk());
+
+        Timer timer = registry.find("shareit.service")
+                .tags("class", UserServiceImpl.class.getName(), "method", "getAll")
+                .timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 1);
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(RequestMetricsFilter.SERVER_TIMING))
+                .andExpect(content().string(containsString("shareit_service_seconds_bucket")))
+                .andExpect(content().string(containsString("shareit_request_statements")));
+    }
+}
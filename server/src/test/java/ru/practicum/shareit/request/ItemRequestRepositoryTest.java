@@ -5,12 +5,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
@@ -25,7 +27,7 @@ public class ItemRequestRepositoryTest {
     private ItemRequestRepository repository;
 
     @Test
-    public void testFindByRequestorId() {
+    public void testFindDtosByRequestorId() {
         User user = User.builder().name("TestUser").email("test@mail.com").build();
         entityManager.persist(user);
         User user1 = User.builder().name("TestUser1").email("test1@mail.com").build();
@@ -45,15 +47,14 @@ public class ItemRequestRepositoryTest {
         entityManager.flush();
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<ItemRequest> resultPage = repository.findAllByRequestorId(user.getId(), pageable);
+        List<ItemRequestDto> result = repository.findDtosByRequestorId(user.getId(), pageable);
 
-        assertThat(resultPage).isNotEmpty();
-        assertThat(resultPage.getContent()).hasSize(2);
-        assertThat(resultPage.getContent()).contains(itemRequest1, itemRequest2);
+        assertThat(result).extracting(ItemRequestDto::getId)
+                .containsExactlyInAnyOrder(itemRequest1.getRequestId(), itemRequest2.getRequestId());
     }
 
     @Test
-    public void testFindAllByRequestorIdNot() {
+    public void testFindDtosByRequestorIdNot() {
         User user = User.builder().name("TestUser").email("test@mail.com").build();
         entityManager.persist(user);
         User user1 = User.builder().name("TestUser1").email("test1@mail.com").build();
@@ -72,11 +73,9 @@ public class ItemRequestRepositoryTest {
         entityManager.flush();
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<ItemRequest> resultPage = repository.findAllByRequestorIdNot(user.getId(), pageable);
+        List<ItemRequestDto> result = repository.findDtosByRequestorIdNot(user.getId(), pageable);
 
-        assertThat(resultPage).isNotEmpty();
-        assertThat(resultPage.getContent()).hasSize(1);
-        assertThat(resultPage.getContent()).contains(itemRequest3);
+        assertThat(result).extracting(ItemRequestDto::getId).containsExactly(itemRequest3.getRequestId());
     }
 
 }
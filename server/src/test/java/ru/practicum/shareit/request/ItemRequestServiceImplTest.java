@@ -1,6 +1,8 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,13 +18,14 @@ import ru.practicum.shareit.user.UserServiceImpl;
 import ru.practicum.shareit.user.dto.UserCreationDto;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManagerFactory;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -34,6 +37,8 @@ class ItemRequestServiceImplTest {
 
     private final ItemService itemService;
 
+    private final EntityManagerFactory emf;
+
     private UserCreationDto uc1 = UserCreationDto.builder().id(1L).name("user1").email("user1@email.com").build();
     private UserCreationDto uc2 = UserCreationDto.builder().id(2L).name("user2").email("user2@email.com").build();
     private UserCreationDto uc3 = UserCreationDto.builder().id(3L).name("user3").email("user3@email.com").build();
@@ -158,4 +163,34 @@ class ItemRequestServiceImplTest {
             itemRequestService.getById(uc1.getId(), 100L);
         });
     }
+    @Test
+    void getAll_shouldRunSameNumberOfStatementsForAnyPageSize() {
+        for (int i = 0; i < 6; i++) {
+            ItemRequestDto request = itemRequestService.add(2L, ItemRequestCreationDto.builder().description("request" + i).build());
+            itemService.create(ItemCreationDto.builder().available(true).name("answer" + i).description("answer" + i)
+                    .userId(1L).requestId(request.getId()).build());
+            itemService.create(ItemCreationDto.builder().available(true).name("other" + i).description("other" + i)
+                    .userId(3L).requestId(request.getId()).build());
+        }
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        List<ItemRequestDto> small = itemRequestService.getAll(1L, 0, 2);
+        long smallPageStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<ItemRequestDto> large = itemRequestService.getAll(1L, 0, 5);
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(2, small.size());
+        assertEquals(5, large.size());
+        large.forEach(request -> assertEquals(2, request.getItems().size()));
+        assertEquals(smallPageStatements, largePageStatements);
+
+        statistics.clear();
+        assertEquals(6, itemRequestService.getAllMyRequest(2L, 0, 10).size());
+        // последняя неполная страница обходится без count-запроса
+        assertTrue(statistics.getPrepareStatementCount() <= largePageStatements);
+    }
+
 }
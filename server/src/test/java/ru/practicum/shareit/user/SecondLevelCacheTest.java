@@ -0,0 +1,132 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.ItemRepositoryDb;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserCreationDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class SecondLevelCacheTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepositoryDb userRepository;
+    @Autowired
+    private ItemRepositoryDb itemRepository;
+    @Autowired
+    private EntityManagerFactory emf;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private UserDto owner;
+
+    @BeforeEach
+    void setUp() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        owner = userService.create(UserCreationDto.builder().name("owner").email("owner@mail.ru").build());
+        statistics.clear();
+    }
+
+    @Test
+    void findById_shouldBeServedFromCacheAfterFirstLoad() {
+        userRepository.findById(owner.getId());
+        userRepository.findById(owner.getId());
+        userService.get(owner.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(3, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void update_shouldReplaceCachedEntity() {
+        userService.update(UserCreationDto.builder().name("renamed").build(), owner.getId());
+        statistics.clear();
+
+        assertEquals("renamed", userService.get(owner.getId()).getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void delete_shouldEvictEntityAndQueryResults() {
+        assertTrue(userRepository.existsById(owner.getId()));
+
+        userService.delete(owner.getId());
+
+        assertFalse(userRepository.existsById(owner.getId()));
+        assertTrue(userRepository.findById(owner.getId()).isEmpty());
+    }
+
+    @Test
+    void existsById_shouldBeAnsweredFromEntityCache() {
+        assertTrue(userRepository.existsById(owner.getId()));
+        assertTrue(userService.contains(owner.getId()));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAll_shouldUseQueryCacheUntilUsersChange() {
+        userService.getAll();
+        assertEquals(1, userService.getAll().size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        userService.create(UserCreationDto.builder().name("other").email("other@mail.ru").build());
+        statistics.clear();
+
+        assertEquals(2, userService.getAll().size());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void item_shouldBeLoadedWithOwnerFromCache() {
+        Item item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("ударная")
+                .available(true)
+                .owner(User.builder().id(owner.getId()).build())
+                .build());
+        statistics.clear();
+
+        // владелец ленивый и догружается в той же сессии, тоже из кэша
+        String ownerName = transactionTemplate.execute(status ->
+                itemRepository.findById(item.getId()).orElseThrow().getOwner().getName());
+
+        assertEquals("owner", ownerName);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void cacheRequests_shouldBeExposedAsMetrics() {
+        userRepository.findById(owner.getId());
+
+        double hits = meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("result", "hit")
+                .functionCounters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+        assertTrue(hits >= 1);
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class UserBulkInsertTest {
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private UserRepositoryDb userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory emf;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void saveAll_shouldBatchInsertsAndPoolIds() {
+        int rows = 200;
+        List<User> saved = transactionTemplate.execute(status -> userRepository.saveAll(users("batch", rows)));
+
+        // 4 батча по 50 вставок + несколько обращений к последовательности вместо 200 отдельных insert
+        assertTrue(statistics.getPrepareStatementCount() < 20,
+                "statements: " + statistics.getPrepareStatementCount());
+        Set<Long> ids = new HashSet<>();
+        saved.forEach(user -> ids.add(user.getId()));
+        assertEquals(rows, ids.size());
+        assertEquals(rows, userRepository.count());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+    void bulkInsert_rowsPerSecond() {
+        int rows = Integer.getInteger("shareit.benchmark.rows", 20_000);
+
+        // как было с IDENTITY: по одному insert с возвратом ключа на каждую строку
+        long started = System.nanoTime();
+        for (User user : users("identity", rows)) {
+            GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(
+                        "insert into users (name, email) values (?, ?)", Statement.RETURN_GENERATED_KEYS);
+                ps.setString(1, user.getName());
+                ps.setString(2, user.getEmail());
+                return ps;
+            }, keyHolder);
+        }
+        double before = rowsPerSecond(rows, started);
+        // identity-ключи пересекаются с блоками последовательности
+        jdbcTemplate.update("delete from users");
+
+        // sequence + pooled optimizer + jdbc batching
+        started = System.nanoTime();
+        List<User> batch = users("pooled", rows);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < batch.size(); i++) {
+                entityManager.persist(batch.get(i));
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+        double after = rowsPerSecond(rows, started);
+
+        log.info("Bulk insert of {} users: identity {} rows/sec, pooled sequence + batching {} rows/sec",
+                rows, Math.round(before), Math.round(after));
+        assertEquals(rows, userRepository.count());
+    }
+
+    private static double rowsPerSecond(final int rows, final long startedNanos) {
+        return rows / ((System.nanoTime() - startedNanos) / 1_000_000_000.0);
+    }
+
+    private static List<User> users(final String prefix, final int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder().name(prefix + i).email(prefix + i + "@email.com").build());
+        }
+        return users;
+    }
+}
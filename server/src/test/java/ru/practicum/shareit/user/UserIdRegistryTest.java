@@ -0,0 +1,93 @@
+package ru.practicum.shareit.user;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.user.dto.UserCreationDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class UserIdRegistryTest {
+    @Autowired
+    private UserIdRegistry registry;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics statistics;
+    private UserDto user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        user = userService.create(UserCreationDto.builder().name("user").email("user@mail.ru").build());
+        statistics.clear();
+    }
+
+    @Test
+    void contains_createdUser_shouldNotQueryDatabase() {
+        assertTrue(registry.contains(user.getId()));
+        bookingService.getAll(user.getId(), "ALL", false, 0, 10);
+
+        // одна выборка бронирований, без проверки пользователя
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void contains_userInsertedElsewhere_shouldFallBackToDatabaseOnce() {
+        Long id = user.getId() + 1;
+        jdbcTemplate.update("insert into users (user_id, name, email) values (?, 'other', 'other@mail.ru')", id);
+
+        assertTrue(registry.contains(id));
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(registry.contains(id));
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void contains_unknownUser_shouldBeCheckedEveryTime() {
+        assertFalse(registry.contains(user.getId() + 100));
+        long statements = statistics.getPrepareStatementCount();
+        assertFalse(registry.contains(user.getId() + 100));
+        assertTrue(statistics.getPrepareStatementCount() > statements);
+    }
+
+    @Test
+    void delete_shouldForgetUser() {
+        userService.delete(user.getId());
+
+        assertFalse(registry.contains(user.getId()));
+        assertThrows(NotFoundException.class, () -> bookingService.getAll(user.getId(), "ALL", false, 0, 10));
+    }
+
+    @Test
+    void rebuild_shouldLoadExistingUsers() {
+        registry.rebuild();
+        statistics.clear();
+
+        assertTrue(registry.contains(user.getId()));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +32,7 @@ public class UserServiceMockTests {
 
     @MockBean
     private final UserRepositoryDb repository;
+    private final UserIdRegistry userIdRegistry;
 
     private User user1 = User.builder()
             .id(1L)
@@ -49,6 +51,12 @@ public class UserServiceMockTests {
             .email("user1@email.com")
             .build();
 
+    // контекст общий для тестов: сбрасываем id, запомненные реестром в предыдущих
+    @BeforeEach
+    void resetRegistry() {
+        userIdRegistry.rebuild();
+    }
+
     @Test
     void createUser_CorrectData_shouldReturnDto() {
         when(repository.save(any(User.class)))